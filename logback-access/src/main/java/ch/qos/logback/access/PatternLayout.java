@@ -40,6 +40,7 @@ import ch.qos.logback.access.pattern.ResponseHeaderConverter;
 import ch.qos.logback.access.pattern.ServerNameConverter;
 import ch.qos.logback.access.pattern.StatusCodeConverter;
 import ch.qos.logback.access.spi.IAccessEvent;
+import ch.qos.logback.core.AppendingLayout;
 import ch.qos.logback.core.pattern.PatternLayoutBase;
 import ch.qos.logback.core.pattern.color.*;
 import ch.qos.logback.core.pattern.parser.Parser;
@@ -62,7 +63,8 @@ import java.util.Map;
  * @author Ceki G&uuml;lc&uuml;
  * @author S&eacute;bastien Pennec
  */
-public class PatternLayout extends PatternLayoutBase<IAccessEvent> {
+public class PatternLayout extends PatternLayoutBase<IAccessEvent> implements
+    AppendingLayout<IAccessEvent> {
 
   public static final Map<String, String> defaultConverterMap = new HashMap<String, String>();
   public static final String HEADER_PREFIX = "#logback.access pattern: ";
@@ -196,6 +198,18 @@ public class PatternLayout extends PatternLayoutBase<IAccessEvent> {
     return writeLoopOnConverters(event);
   }
 
+  /**
+   * Append the formatted event to the buffer passed as parameter.
+   *
+   * @since 1.1.3
+   */
+  public void doLayout(IAccessEvent event, StringBuilder buf) {
+    if (!isStarted()) {
+      return;
+    }
+    writeLoopOnConverters(event, buf);
+  }
+
   @Override
   public void start() {
     if (getPattern().equalsIgnoreCase(CLF_PATTERN_NAME)
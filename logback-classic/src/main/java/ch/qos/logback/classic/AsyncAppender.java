@@ -13,6 +13,14 @@
  */
 package ch.qos.logback.classic;
 
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import ch.qos.logback.classic.jmx.AsyncAppenderStats;
+import ch.qos.logback.classic.jmx.MBeanUtil;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.AsyncAppenderBase;
 
@@ -30,6 +38,11 @@ public class AsyncAppender extends AsyncAppenderBase<ILoggingEvent> {
 
   boolean includeCallerData = false;
 
+  boolean registerMBean = false;
+  ObjectName objectName;
+
+  // dropped event counts for levels TRACE, DEBUG, INFO, WARN and ERROR, in that order
+  final AtomicLongArray droppedEventCountByLevel = new AtomicLongArray(5);
 
   /**
    * Events of level TRACE, DEBUG and INFO are deemed to be discardable.
@@ -47,6 +60,80 @@ public class AsyncAppender extends AsyncAppenderBase<ILoggingEvent> {
       eventObject.getCallerData();
   }
 
+  @Override
+  protected void eventDropped(ILoggingEvent event) {
+    droppedEventCountByLevel.incrementAndGet(levelIndex(event.getLevel()));
+  }
+
+  static int levelIndex(Level level) {
+    switch (level.toInt()) {
+    case Level.TRACE_INT:
+      return 0;
+    case Level.DEBUG_INT:
+      return 1;
+    case Level.INFO_INT:
+      return 2;
+    case Level.WARN_INT:
+      return 3;
+    default:
+      return 4;
+    }
+  }
+
+  /**
+   * Returns the number of dropped events of the given level.
+   *
+   * @since 1.1.3
+   */
+  public long getDroppedEventCount(Level level) {
+    return droppedEventCountByLevel.get(levelIndex(level));
+  }
+
+  @Override
+  public void start() {
+    super.start();
+    if (isStarted() && registerMBean) {
+      registerStatsMBean();
+    }
+  }
+
+  @Override
+  public void stop() {
+    super.stop();
+    unregisterStatsMBean();
+  }
+
+  private void registerStatsMBean() {
+    String objectNameAsStr = MBeanUtil.getObjectNameFor(context.getName(), AsyncAppender.class) + ",Appender=" + getName();
+    objectName = MBeanUtil.string2ObjectName(context, this, objectNameAsStr);
+    if (objectName == null) {
+      return;
+    }
+    MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+    try {
+      mbs.registerMBean(new AsyncAppenderStats(this), objectName);
+      addInfo("Registered mbean [" + objectName + "]");
+    } catch (Exception e) {
+      addError("Failed to register mbean [" + objectName + "]", e);
+      objectName = null;
+    }
+  }
+
+  private void unregisterStatsMBean() {
+    if (objectName == null) {
+      return;
+    }
+    MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+    try {
+      if (mbs.isRegistered(objectName)) {
+        mbs.unregisterMBean(objectName);
+      }
+    } catch (Exception e) {
+      addError("Failed to unregister mbean [" + objectName + "]", e);
+    }
+    objectName = null;
+  }
+
   public boolean isIncludeCallerData() {
     return includeCallerData;
   }
@@ -55,4 +142,18 @@ public class AsyncAppender extends AsyncAppenderBase<ILoggingEvent> {
     this.includeCallerData = includeCallerData;
   }
 
+  public boolean isRegisterMBean() {
+    return registerMBean;
+  }
+
+  /**
+   * When set to true, queue and dropped event statistics are published via
+   * JMX while this appender is started. The default is false.
+   *
+   * @since 1.1.3
+   */
+  public void setRegisterMBean(boolean registerMBean) {
+    this.registerMBean = registerMBean;
+  }
+
 }
@@ -0,0 +1,469 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.spi.MDCAdapter;
+
+import ch.qos.logback.classic.spi.CallerData;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AsyncOverflowPolicy;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.spi.LifeCycle;
+import ch.qos.logback.core.util.Duration;
+import ch.qos.logback.core.util.WaitStrategy;
+
+/**
+ * Hands logging requests over from the application threads to a single
+ * worker thread, before any {@link LoggingEvent} is created.
+ *
+ * <p>Once the turbo filters and the effective level of a logger have
+ * accepted a request, the logger copies its raw data (logger, level, marker,
+ * message, arguments, throwable) along with the thread name, the MDC and the
+ * time stamp into a slot of a pre-allocated ring buffer. The worker thread
+ * builds the event from the slot and invokes the appenders of the logger.
+ * Creating the event, formatting the message, computing throwable proxies and
+ * running the appenders thus happen off the application thread.
+ *
+ * <p>As messages are formatted by the worker thread, arguments should not be
+ * modified after having been logged. Caller data is not available unless
+ * <b>includeCallerData</b> is set, in which case it is extracted by the
+ * logging thread.
+ *
+ * <p>When the ring buffer is full, logging threads block by default. The
+ * <b>overflowPolicy</b> property allows requests to be dropped instead,
+ * except for {@link AsyncOverflowPolicy#DROP_OLDEST} which is not supported.
+ * Requests issued by the worker thread itself, for example by appenders, are
+ * processed synchronously.
+ *
+ * @since 1.1.3
+ */
+public class AsyncLoggingDispatcher extends ContextAwareBase implements LifeCycle {
+
+  public static final int DEFAULT_RING_SIZE = 1024;
+  public static final int DEFAULT_OVERFLOW_TIMEOUT = 100;
+  public static final int DEFAULT_MAX_FLUSH_TIME = 1000;
+
+  int ringSize = DEFAULT_RING_SIZE;
+  WaitStrategy waitStrategy = WaitStrategy.PARK;
+  AsyncOverflowPolicy overflowPolicy = AsyncOverflowPolicy.BLOCK;
+  Duration overflowTimeout = new Duration(DEFAULT_OVERFLOW_TIMEOUT);
+  boolean includeCallerData = false;
+  int maxFlushTime = DEFAULT_MAX_FLUSH_TIME;
+
+  private Slot[] slots;
+  // the slot at index i is free for the producer claiming position p when its
+  // sequence equals p, and holds a request for the worker at position p when
+  // its sequence equals p+1, as in RingBufferBlockingQueue
+  private AtomicLongArray sequences;
+  // next position to be claimed by a producer
+  private final AtomicLong tail = new AtomicLong();
+  // next position to be read, only accessed by the worker thread
+  private long head;
+
+  private final AtomicLong droppedRequestCount = new AtomicLong();
+
+  private volatile boolean started = false;
+  private Worker worker;
+
+  public void start() {
+    if (isStarted()) {
+      return;
+    }
+    if (context == null) {
+      addError("No context set for AsyncLoggingDispatcher");
+      return;
+    }
+    // with a single slot, a published request could not be told apart from a
+    // free slot
+    if (ringSize < 2) {
+      addError("Invalid ring size [" + ringSize + "]");
+      return;
+    }
+    if (overflowPolicy == AsyncOverflowPolicy.DROP_OLDEST) {
+      addError("Overflow policy " + overflowPolicy + " is not supported by asynchronous logging");
+      return;
+    }
+    slots = new Slot[ringSize];
+    sequences = new AtomicLongArray(ringSize);
+    for (int i = 0; i < ringSize; i++) {
+      slots[i] = new Slot();
+      sequences.set(i, i);
+    }
+    tail.set(0);
+    head = 0;
+    droppedRequestCount.set(0);
+
+    worker = new Worker();
+    worker.setDaemon(true);
+    worker.setName("logback-async-logging-" + context.getName());
+    // mark this instance as started before starting the worker thread
+    started = true;
+    worker.start();
+  }
+
+  public void stop() {
+    if (!isStarted()) {
+      return;
+    }
+    started = false;
+    // the worker dispatches the requests remaining in the ring buffer before
+    // exiting
+    worker.interrupt();
+    try {
+      worker.join(maxFlushTime);
+      if (worker.isAlive()) {
+        addWarn("Max flush time (" + maxFlushTime
+            + " ms) exceeded. Pending logging requests were possibly discarded.");
+      }
+    } catch (InterruptedException e) {
+      addError("Failed to join worker thread. Pending logging requests may be discarded.", e);
+    }
+
+    long dropped = droppedRequestCount.get();
+    if (dropped > 0) {
+      addWarn(dropped + " logging requests were dropped by asynchronous logging.");
+    }
+  }
+
+  public boolean isStarted() {
+    return started;
+  }
+
+  /**
+   * Publishes a request with an argument array. Returns false if the request
+   * should be processed by the calling thread instead.
+   */
+  boolean publish(String fqcn, Logger logger, Level level, Marker marker,
+                  String message, Throwable throwable, Object[] argArray) {
+    if (!mayPublish()) {
+      return false;
+    }
+    long position = claim();
+    if (position >= 0) {
+      Slot slot = slots[indexOf(position)];
+      slot.argumentForm = Slot.ARRAY;
+      slot.argArray = argArray;
+      fill(slot, fqcn, logger, level, marker, message, throwable);
+      sequences.lazySet(indexOf(position), position + 1);
+    }
+    return true;
+  }
+
+  boolean publish(String fqcn, Logger logger, Level level, Marker marker,
+                  String message, Throwable throwable, Object arg) {
+    if (!mayPublish()) {
+      return false;
+    }
+    long position = claim();
+    if (position >= 0) {
+      Slot slot = slots[indexOf(position)];
+      slot.argumentForm = Slot.ONE;
+      slot.arg1 = arg;
+      fill(slot, fqcn, logger, level, marker, message, throwable);
+      sequences.lazySet(indexOf(position), position + 1);
+    }
+    return true;
+  }
+
+  boolean publish(String fqcn, Logger logger, Level level, Marker marker,
+                  String message, Throwable throwable, Object arg1, Object arg2) {
+    if (!mayPublish()) {
+      return false;
+    }
+    long position = claim();
+    if (position >= 0) {
+      Slot slot = slots[indexOf(position)];
+      slot.argumentForm = Slot.TWO;
+      slot.arg1 = arg1;
+      slot.arg2 = arg2;
+      fill(slot, fqcn, logger, level, marker, message, throwable);
+      sequences.lazySet(indexOf(position), position + 1);
+    }
+    return true;
+  }
+
+  private boolean mayPublish() {
+    // the worker would wait for itself on a full ring buffer
+    return started && Thread.currentThread() != worker;
+  }
+
+  private void fill(Slot slot, String fqcn, Logger logger, Level level,
+                    Marker marker, String message, Throwable throwable) {
+    slot.fqcn = fqcn;
+    slot.logger = logger;
+    slot.level = level;
+    slot.marker = marker;
+    slot.message = message;
+    slot.throwable = throwable;
+    slot.threadName = Thread.currentThread().getName();
+    slot.mdcPropertyMap = mdcSnapshot();
+    slot.timeStamp = System.currentTimeMillis();
+    if (includeCallerData) {
+      LoggerContext lc = logger.getLoggerContext();
+      slot.callerData = lc.getCallerDataProvider().getCallerData(fqcn,
+          lc.getMaxCallerDataDepth(), lc.getFrameworkPackages());
+    }
+  }
+
+  private static Map<String, String> mdcSnapshot() {
+    MDCAdapter mdc = MDC.getMDCAdapter();
+    Map<String, String> map;
+    // the map of LogbackMDCAdapter is copied on the next write and may
+    // therefore be shared
+    if (mdc instanceof LogbackMDCAdapter) {
+      map = ((LogbackMDCAdapter) mdc).getPropertyMap();
+    } else {
+      map = mdc.getCopyOfContextMap();
+    }
+    if (map == null) {
+      return Collections.emptyMap();
+    }
+    return map;
+  }
+
+  private int indexOf(long position) {
+    return (int) (position % ringSize);
+  }
+
+  /**
+   * Claims the next position of the ring buffer according to the overflow
+   * policy. Returns -1 if the request is dropped.
+   */
+  private long claim() {
+    long position = tryClaim();
+    if (position >= 0 || overflowPolicy == AsyncOverflowPolicy.DROP_NEWEST) {
+      return countIfDropped(position);
+    }
+    long deadline = System.nanoTime()
+        + TimeUnit.MILLISECONDS.toNanos(overflowTimeout.getMilliseconds());
+    try {
+      while ((position = tryClaim()) < 0) {
+        if (!started) {
+          break;
+        }
+        if (overflowPolicy == AsyncOverflowPolicy.BLOCK_WITH_TIMEOUT
+            && System.nanoTime() - deadline >= 0) {
+          break;
+        }
+        waitStrategy.await();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return countIfDropped(position);
+  }
+
+  private long tryClaim() {
+    long position = tail.get();
+    while (true) {
+      long diff = sequences.get(indexOf(position)) - position;
+      if (diff == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          return position;
+        }
+        position = tail.get();
+      } else if (diff < 0) {
+        // the slot has not been dispatched yet, the ring buffer is full
+        return -1;
+      } else {
+        // another producer claimed this position
+        position = tail.get();
+      }
+    }
+  }
+
+  private long countIfDropped(long position) {
+    if (position < 0 && droppedRequestCount.incrementAndGet() == 1) {
+      addWarn("Dropping logging requests, the ring buffer of asynchronous logging is full.");
+    }
+    return position;
+  }
+
+  /**
+   * Dispatches the next published request, if any.
+   */
+  private boolean dispatchNext() {
+    int index = indexOf(head);
+    if (sequences.get(index) != head + 1) {
+      return false;
+    }
+    Slot slot = slots[index];
+    Logger logger = slot.logger;
+    LoggingEvent event = slot.toLoggingEvent();
+    slot.clear();
+    sequences.lazySet(index, head + ringSize);
+    head++;
+    logger.callAppenders(event);
+    return true;
+  }
+
+  /**
+   * The number of logging requests dropped because the ring buffer was full.
+   */
+  public long getDroppedRequestCount() {
+    return droppedRequestCount.get();
+  }
+
+  public int getRingSize() {
+    return ringSize;
+  }
+
+  /**
+   * The number of slots of the ring buffer, at least 2. Defaults to
+   * {@value #DEFAULT_RING_SIZE}.
+   */
+  public void setRingSize(int ringSize) {
+    this.ringSize = ringSize;
+  }
+
+  public WaitStrategy getWaitStrategy() {
+    return waitStrategy;
+  }
+
+  /**
+   * How the worker waits for requests, and logging threads for room in the
+   * ring buffer. Defaults to {@link WaitStrategy#PARK}.
+   */
+  public void setWaitStrategy(WaitStrategy waitStrategy) {
+    this.waitStrategy = waitStrategy;
+  }
+
+  public AsyncOverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  public void setOverflowPolicy(AsyncOverflowPolicy overflowPolicy) {
+    this.overflowPolicy = overflowPolicy;
+  }
+
+  public Duration getOverflowTimeout() {
+    return overflowTimeout;
+  }
+
+  /**
+   * The maximum time a logging thread blocks on a full ring buffer under the
+   * {@link AsyncOverflowPolicy#BLOCK_WITH_TIMEOUT} policy.
+   */
+  public void setOverflowTimeout(Duration overflowTimeout) {
+    this.overflowTimeout = overflowTimeout;
+  }
+
+  public boolean isIncludeCallerData() {
+    return includeCallerData;
+  }
+
+  public void setIncludeCallerData(boolean includeCallerData) {
+    this.includeCallerData = includeCallerData;
+  }
+
+  public int getMaxFlushTime() {
+    return maxFlushTime;
+  }
+
+  /**
+   * The maximum time, in milliseconds, the worker may spend dispatching the
+   * pending requests when this dispatcher is stopped.
+   */
+  public void setMaxFlushTime(int maxFlushTime) {
+    this.maxFlushTime = maxFlushTime;
+  }
+
+  /**
+   * A pre-allocated holder for the data of a logging request.
+   */
+  static final class Slot {
+    static final int ARRAY = 0;
+    static final int ONE = 1;
+    static final int TWO = 2;
+
+    String fqcn;
+    Logger logger;
+    Level level;
+    Marker marker;
+    String message;
+    Throwable throwable;
+    int argumentForm;
+    Object[] argArray;
+    Object arg1;
+    Object arg2;
+    String threadName;
+    Map<String, String> mdcPropertyMap;
+    long timeStamp;
+    StackTraceElement[] callerData;
+
+    LoggingEvent toLoggingEvent() {
+      LoggingEvent event;
+      switch (argumentForm) {
+      case ONE:
+        event = new LoggingEvent(fqcn, logger, level, message, throwable, arg1);
+        break;
+      case TWO:
+        event = new LoggingEvent(fqcn, logger, level, message, throwable, arg1, arg2);
+        break;
+      default:
+        event = new LoggingEvent(fqcn, logger, level, message, throwable, argArray);
+      }
+      event.setMarker(marker);
+      event.setThreadName(threadName);
+      event.setMDCPropertyMap(mdcPropertyMap);
+      event.setTimeStamp(timeStamp);
+      // caller data cannot be extracted by the worker thread
+      event.setCallerData(callerData != null ? callerData : CallerData.EMPTY_CALLER_DATA_ARRAY);
+      return event;
+    }
+
+    void clear() {
+      fqcn = null;
+      logger = null;
+      level = null;
+      marker = null;
+      message = null;
+      throwable = null;
+      argArray = null;
+      arg1 = null;
+      arg2 = null;
+      threadName = null;
+      mdcPropertyMap = null;
+      callerData = null;
+    }
+  }
+
+  class Worker extends Thread {
+
+    public void run() {
+      while (started) {
+        if (!dispatchNext()) {
+          try {
+            waitStrategy.await();
+          } catch (InterruptedException e) {
+            break;
+          }
+        }
+      }
+      addInfo("Worker thread will flush pending logging requests before exiting.");
+      while (dispatchNext()) {
+        // keep dispatching
+      }
+    }
+  }
+}
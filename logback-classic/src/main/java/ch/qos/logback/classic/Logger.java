@@ -19,6 +19,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import ch.qos.logback.classic.util.LoggerNameUtil;
 import org.slf4j.LoggerFactory;
@@ -27,10 +30,13 @@ import org.slf4j.spi.LocationAwareLogger;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEventPool;
+import ch.qos.logback.classic.spi.TurboFilterList;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.spi.AppenderAttachable;
 import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import ch.qos.logback.core.spi.EventRetaining;
 import ch.qos.logback.core.spi.FilterReply;
 
 public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
@@ -55,7 +61,24 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
 
   // The effective levelInt is the assigned levelInt and if null, a levelInt is
   // inherited form a parent.
-  transient private int effectiveLevelInt;
+  transient private volatile int effectiveLevelInt;
+
+  /**
+   * For the i-th level of {@link #MASKED_LEVELS}, bit i is set if the level is
+   * enabled by the effective level, and bit {@link #TURBO_SHIFT} + i is set if
+   * turbo filters may decide on requests without a marker at that level.
+   * Updated whenever the effective level or the turbo filters change.
+   */
+  transient private volatile int enabledLevels;
+
+  private static final Level[] MASKED_LEVELS = { Level.TRACE, Level.DEBUG,
+      Level.INFO, Level.WARN, Level.ERROR };
+  private static final int TRACE_BIT = 1;
+  private static final int DEBUG_BIT = 1 << 1;
+  private static final int INFO_BIT = 1 << 2;
+  private static final int WARN_BIT = 1 << 3;
+  private static final int ERROR_BIT = 1 << 4;
+  private static final int TURBO_SHIFT = 8;
 
   /**
    * The parent of this category. All categories have at least one ancestor
@@ -64,9 +87,14 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
   transient private Logger parent;
 
   /**
-   * The children of this logger. A logger may have zero or more children.
+   * The children of this logger indexed by name, created along with the
+   * first child. A logger may have zero or more children.
    */
-  transient private List<Logger> childrenList;
+  transient private volatile ConcurrentMap<String, Logger> children;
+
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<Logger, ConcurrentMap> CHILDREN_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(Logger.class, ConcurrentMap.class, "children");
 
   /**
    * It is assumed that once the 'aai' variable is set to a non-null value, it
@@ -99,6 +127,14 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
    */
   transient private boolean additive = true;
 
+  /**
+   * The appenders invoked by {@link #callAppenders(ILoggingEvent)}, that is the
+   * appenders of this logger followed by those of its ancestors as far as
+   * additivity allows. Recomputed when the appender generation of the logger
+   * context changes.
+   */
+  transient private volatile EffectiveAppenders effectiveAppenders;
+
   final transient LoggerContext loggerContext;
 
   Logger(String name, Logger parent, LoggerContext loggerContext) {
@@ -129,21 +165,11 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
   }
 
   Logger getChildByName(final String childName) {
-    if (childrenList == null) {
-      return null;
-    } else {
-      int len = this.childrenList.size();
-      for (int i = 0; i < len; i++) {
-        final Logger childLogger_i = (Logger) childrenList.get(i);
-        final String childName_i = childLogger_i.getName();
-
-        if (childName.equals(childName_i)) {
-          return childLogger_i;
-        }
-      }
-      // no child found
+    final ConcurrentMap<String, Logger> c = children;
+    if (c == null) {
       return null;
     }
+    return c.get(childName);
   }
 
   public synchronized void setLevel(Level newLevel) {
@@ -163,11 +189,11 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
     } else {
       effectiveLevelInt = newLevel.levelInt;
     }
+    updateEnabledLevels();
 
-    if (childrenList != null) {
-      int len = childrenList.size();
-      for (int i = 0; i < len; i++) {
-        Logger child = (Logger) childrenList.get(i);
+    final ConcurrentMap<String, Logger> c = children;
+    if (c != null) {
+      for (Logger child : c.values()) {
         // tell child to handle parent levelInt change
         child.handleParentLevelChange(effectiveLevelInt);
       }
@@ -187,18 +213,36 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
     // null
     if (level == null) {
       effectiveLevelInt = newParentLevelInt;
+      updateEnabledLevels();
 
       // propagate the parent levelInt change to this logger's children
-      if (childrenList != null) {
-        int len = childrenList.size();
-        for (int i = 0; i < len; i++) {
-          Logger child = (Logger) childrenList.get(i);
+      final ConcurrentMap<String, Logger> c = children;
+      if (c != null) {
+        for (Logger child : c.values()) {
           child.handleParentLevelChange(newParentLevelInt);
         }
       }
     }
   }
 
+  /**
+   * Recomputes {@link #enabledLevels} from the effective level and the turbo
+   * filters of the logger context.
+   */
+  synchronized void updateEnabledLevels() {
+    final TurboFilterList turboFilterList = loggerContext.getTurboFilterList();
+    int mask = 0;
+    for (int i = 0; i < MASKED_LEVELS.length; i++) {
+      if (effectiveLevelInt <= MASKED_LEVELS[i].levelInt) {
+        mask |= 1 << i;
+      }
+      if (turboFilterList.canAffect(MASKED_LEVELS[i], null)) {
+        mask |= 1 << (TURBO_SHIFT + i);
+      }
+    }
+    enabledLevels = mask;
+  }
+
   /**
    * Remove all previously added appenders from this logger instance.
    * <p/>
@@ -207,6 +251,7 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
   public void detachAndStopAllAppenders() {
     if (aai != null) {
       aai.detachAndStopAllAppenders();
+      loggerContext.appendersChanged();
     }
   }
 
@@ -214,7 +259,9 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
     if (aai == null) {
       return false;
     }
-    return aai.detachAppender(name);
+    boolean result = aai.detachAppender(name);
+    loggerContext.appendersChanged();
+    return result;
   }
 
   // this method MUST be synchronized. See comments on 'aai' field for further
@@ -224,6 +271,7 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
       aai = new AppenderAttachableImpl<ILoggingEvent>();
     }
     aai.addAppender(newAppender);
+    loggerContext.appendersChanged();
   }
 
   public boolean isAttached(Appender<ILoggingEvent> appender) {
@@ -255,25 +303,47 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
    *          The event to log
    */
   public void callAppenders(ILoggingEvent event) {
-    int writes = 0;
-    for (Logger l = this; l != null; l = l.parent) {
-      writes += l.appendLoopOnAppenders(event);
-      if (!l.additive) {
-        break;
-      }
+    appendLoopOnAppenders(getEffectiveAppenders().appenders, event);
+  }
+
+  private void appendLoopOnAppenders(Appender<ILoggingEvent>[] appenders, ILoggingEvent event) {
+    final int len = appenders.length;
+    for (int i = 0; i < len; i++) {
+      appenders[i].doAppend(event);
     }
     // No appenders in hierarchy
-    if (writes == 0) {
+    if (len == 0) {
       loggerContext.noAppenderDefinedWarning(this);
     }
   }
 
-  private int appendLoopOnAppenders(ILoggingEvent event) {
-    if (aai != null) {
-      return aai.appendLoopOnAppenders(event);
-    } else {
-      return 0;
+  private EffectiveAppenders getEffectiveAppenders() {
+    // read the generation before collecting so that concurrent changes are
+    // detected on the next call
+    int generation = loggerContext.getAppenderGeneration();
+    EffectiveAppenders current = effectiveAppenders;
+    if (current == null || current.generation != generation) {
+      current = new EffectiveAppenders(generation, collectEffectiveAppenders());
+      effectiveAppenders = current;
     }
+    return current;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Appender<ILoggingEvent>[] collectEffectiveAppenders() {
+    List<Appender<ILoggingEvent>> list = new ArrayList<Appender<ILoggingEvent>>();
+    for (Logger l = this; l != null; l = l.parent) {
+      if (l.aai != null) {
+        Iterator<Appender<ILoggingEvent>> it = l.aai.iteratorForAppenders();
+        while (it.hasNext()) {
+          list.add(it.next());
+        }
+      }
+      if (!l.additive) {
+        break;
+      }
+    }
+    return list.toArray(new Appender[list.size()]);
   }
 
   /**
@@ -283,7 +353,9 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
     if (aai == null) {
       return false;
     }
-    return aai.detachAppender(appender);
+    boolean result = aai.detachAppender(appender);
+    loggerContext.appendersChanged();
+    return result;
   }
 
 
@@ -292,10 +364,8 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
    * Create a child of this logger by suffix, that is, the part of the name
    * extending this logger. For example, if this logger is named "x.y" and the
    * lastPart is "z", then the created child logger will be named "x.y.z".
-   * 
-   * <p>
-   * IMPORTANT: Calls to this method must be within a synchronized block on this
-   * logger.
+   * If another thread created the same child concurrently, the child created
+   * by that thread is returned.
    * 
    * @param lastPart
    *          the suffix (i.e. last part) of the child logger name. This
@@ -310,19 +380,11 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
           + " passed as parameter, may not include [" + CoreConstants.DOT + "]");
     }
 
-    if (childrenList == null) {
-      childrenList = new ArrayList<Logger>();
-    }
-    Logger childLogger;
     if (this.isRootLogger()) {
-      childLogger = new Logger(lastPart, this, this.loggerContext);
+      return addChild(lastPart);
     } else {
-      childLogger = new Logger(name + CoreConstants.DOT + lastPart, this,
-          this.loggerContext);
+      return addChild(name + CoreConstants.DOT + lastPart);
     }
-    childrenList.add(childLogger);
-    childLogger.effectiveLevelInt = this.effectiveLevelInt;
-    return childLogger;
   }
 
   private void localLevelReset() {
@@ -332,26 +394,27 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
     } else {
       level = null;
     }
+    updateEnabledLevels();
   }
 
   void recursiveReset() {
     detachAndStopAllAppenders();
     localLevelReset();
-    additive = true;
-    if (childrenList == null) {
+    setAdditive(true);
+    final ConcurrentMap<String, Logger> c = children;
+    if (c == null) {
       return;
     }
-    for (Logger childLogger : childrenList) {
+    for (Logger childLogger : c.values()) {
       childLogger.recursiveReset();
     }
   }
 
   /**
-   * The default size of child list arrays. The JDK 1.5 default is 10. We use a
-   * smaller value to save a little space.
+   * Create a child of this logger with the given name, unless another thread
+   * created it concurrently in which case the child created by that thread is
+   * returned.
    */
-  private static final int DEFAULT_CHILD_ARRAY_SIZE = 5;
-
   Logger createChildByName(final String childName) {
     int i_index = LoggerNameUtil.getSeparatorIndexOf(childName, this.name.length() + 1);
     if (i_index != -1) {
@@ -361,16 +424,35 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
           + (this.name.length() + 1));
     }
 
-    if (childrenList == null) {
-      childrenList = new ArrayList<Logger>(DEFAULT_CHILD_ARRAY_SIZE);
-    }
-    Logger childLogger;
-    childLogger = new Logger(childName, this, this.loggerContext);
-    childrenList.add(childLogger);
+    return addChild(childName);
+  }
+
+  private Logger addChild(final String childName) {
+    Logger childLogger = new Logger(childName, this, this.loggerContext);
     childLogger.effectiveLevelInt = this.effectiveLevelInt;
+    childLogger.updateEnabledLevels();
+
+    Logger existing = getOrCreateChildren().putIfAbsent(childName, childLogger);
+    if (existing != null) {
+      return existing;
+    }
+    // a level change of this logger may have been propagated to its
+    // children after the level was copied above, but before the child was
+    // added to them
+    childLogger.handleParentLevelChange(this.effectiveLevelInt);
     return childLogger;
   }
 
+  @SuppressWarnings("unchecked")
+  private ConcurrentMap<String, Logger> getOrCreateChildren() {
+    ConcurrentMap<String, Logger> c = children;
+    if (c == null) {
+      CHILDREN_UPDATER.compareAndSet(this, null, new ConcurrentHashMap<String, Logger>(4));
+      c = children;
+    }
+    return c;
+  }
+
   /**
    * The next methods are not merged into one because of the time we gain by not
    * creating a new Object[] with the params. This reduces the cost of not
@@ -393,6 +475,11 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
       return;
     }
 
+    final AsyncLoggingDispatcher asyncLogging = loggerContext.getAsyncLogging();
+    if (asyncLogging != null
+        && asyncLogging.publish(localFQCN, this, level, marker, msg, t, params)) {
+      return;
+    }
     buildLoggingEventAndAppend(localFQCN, marker, level, msg, params, t);
   }
 
@@ -411,8 +498,21 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
       return;
     }
 
-    buildLoggingEventAndAppend(localFQCN, marker, level, msg,
-        new Object[] { param }, t);
+    final AsyncLoggingDispatcher asyncLogging = loggerContext.getAsyncLogging();
+    if (asyncLogging != null
+        && asyncLogging.publish(localFQCN, this, level, marker, msg, t, param)) {
+      return;
+    }
+
+    final EffectiveAppenders effective = getEffectiveAppenders();
+    if (reuseLoggingEvents(effective)) {
+      LoggingEventPool pool = loggerContext.getLoggingEventPool();
+      LoggingEvent le = pool.take(localFQCN, this, level, msg, t, param);
+      dispatch(le, marker, effective);
+      pool.release(le);
+    } else {
+      dispatch(new LoggingEvent(localFQCN, this, level, msg, t, param), marker, effective);
+    }
   }
 
   private void filterAndLog_2(final String localFQCN,
@@ -430,16 +530,48 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
       return;
     }
 
-    buildLoggingEventAndAppend(localFQCN, marker, level, msg, new Object[] {
-        param1, param2 }, t);
+    final AsyncLoggingDispatcher asyncLogging = loggerContext.getAsyncLogging();
+    if (asyncLogging != null
+        && asyncLogging.publish(localFQCN, this, level, marker, msg, t, param1, param2)) {
+      return;
+    }
+
+    final EffectiveAppenders effective = getEffectiveAppenders();
+    if (reuseLoggingEvents(effective)) {
+      LoggingEventPool pool = loggerContext.getLoggingEventPool();
+      LoggingEvent le = pool.take(localFQCN, this, level, msg, t, param1, param2);
+      dispatch(le, marker, effective);
+      pool.release(le);
+    } else {
+      dispatch(new LoggingEvent(localFQCN, this, level, msg, t, param1, param2), marker, effective);
+    }
   }
 
   private void buildLoggingEventAndAppend(final String localFQCN,
       final Marker marker, final Level level, final String msg,
       final Object[] params, final Throwable t) {
-    LoggingEvent le = new LoggingEvent(localFQCN, this, level, msg, t, params);
+    final EffectiveAppenders effective = getEffectiveAppenders();
+    if (reuseLoggingEvents(effective)) {
+      LoggingEventPool pool = loggerContext.getLoggingEventPool();
+      LoggingEvent le = pool.take(localFQCN, this, level, msg, t, params);
+      dispatch(le, marker, effective);
+      pool.release(le);
+    } else {
+      dispatch(new LoggingEvent(localFQCN, this, level, msg, t, params), marker, effective);
+    }
+  }
+
+  /**
+   * Events may only be reused if no appender keeps a reference to them once
+   * they have been appended.
+   */
+  private boolean reuseLoggingEvents(EffectiveAppenders effective) {
+    return loggerContext.isReuseLoggingEvents() && !effective.retainsEvents;
+  }
+
+  private void dispatch(LoggingEvent le, Marker marker, EffectiveAppenders effective) {
     le.setMarker(marker);
-    callAppenders(le);
+    appendLoopOnAppenders(effective.appenders, le);
   }
 
   public void trace(String msg) {
@@ -483,6 +615,10 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
   }
 
   public boolean isDebugEnabled() {
+    final int mask = enabledLevels;
+    if ((mask & (DEBUG_BIT << TURBO_SHIFT)) == 0) {
+      return (mask & DEBUG_BIT) != 0;
+    }
     return isDebugEnabled(null);
   }
 
@@ -580,6 +716,10 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
   }
 
   public boolean isInfoEnabled() {
+    final int mask = enabledLevels;
+    if ((mask & (INFO_BIT << TURBO_SHIFT)) == 0) {
+      return (mask & INFO_BIT) != 0;
+    }
     return isInfoEnabled(null);
   }
 
@@ -637,6 +777,10 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
   }
 
   public boolean isTraceEnabled() {
+    final int mask = enabledLevels;
+    if ((mask & (TRACE_BIT << TURBO_SHIFT)) == 0) {
+      return (mask & TRACE_BIT) != 0;
+    }
     return isTraceEnabled(null);
   }
 
@@ -654,6 +798,10 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
   }
 
   public boolean isErrorEnabled() {
+    final int mask = enabledLevels;
+    if ((mask & (ERROR_BIT << TURBO_SHIFT)) == 0) {
+      return (mask & ERROR_BIT) != 0;
+    }
     return isErrorEnabled(null);
   }
 
@@ -671,6 +819,10 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
   }
 
   public boolean isWarnEnabled() {
+    final int mask = enabledLevels;
+    if ((mask & (WARN_BIT << TURBO_SHIFT)) == 0) {
+      return (mask & WARN_BIT) != 0;
+    }
     return isWarnEnabled(null);
   }
 
@@ -751,12 +903,30 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
 
   public void setAdditive(boolean additive) {
     this.additive = additive;
+    loggerContext.appendersChanged();
   }
 
   public String toString() {
     return "Logger[" + name + "]";
   }
 
+  static final class EffectiveAppenders {
+    final int generation;
+    final Appender<ILoggingEvent>[] appenders;
+    // true if any of the appenders implements EventRetaining
+    final boolean retainsEvents;
+
+    EffectiveAppenders(int generation, Appender<ILoggingEvent>[] appenders) {
+      this.generation = generation;
+      this.appenders = appenders;
+      boolean retains = false;
+      for (Appender<ILoggingEvent> appender : appenders) {
+        retains |= appender instanceof EventRetaining;
+      }
+      this.retainsEvents = retains;
+    }
+  }
+
   /**
    * Method that calls the attached TurboFilter objects based on the logger and
    * the level.
@@ -15,14 +15,21 @@ package ch.qos.logback.classic;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import ch.qos.logback.classic.util.LoggerNameUtil;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.Marker;
 
+import ch.qos.logback.classic.spi.CallerData;
+import ch.qos.logback.classic.spi.CallerDataProvider;
 import ch.qos.logback.classic.spi.LoggerComparator;
 import ch.qos.logback.classic.spi.LoggerContextListener;
 import ch.qos.logback.classic.spi.LoggerContextVO;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEventPool;
+import ch.qos.logback.classic.spi.StackWalkerCallerDataProvider;
 import ch.qos.logback.classic.spi.TurboFilterList;
 import ch.qos.logback.classic.turbo.TurboFilter;
 import ch.qos.logback.core.ContextBase;
@@ -46,31 +53,43 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
         LifeCycle {
 
   final Logger root;
-  private int size;
+  private final AtomicInteger size = new AtomicInteger();
   private int noAppenderWarning = 0;
   final private List<LoggerContextListener> loggerContextListenerList = new ArrayList<LoggerContextListener>();
 
-  private Map<String, Logger> loggerCache;
+  private ConcurrentMap<String, Logger> loggerCache;
 
   private LoggerContextVO loggerContextRemoteView;
   private final TurboFilterList turboFilterList = new TurboFilterList();
   private boolean packagingDataEnabled = true;
+  private boolean reuseLoggingEvents = false;
+  private final LoggingEventPool loggingEventPool = new LoggingEventPool();
+  private volatile AsyncLoggingDispatcher asyncLogging;
 
   private int maxCallerDataDepth = ClassicConstants.DEFAULT_MAX_CALLEDER_DATA_DEPTH;
+  private volatile CallerDataProvider callerDataProvider = CallerData.newDefaultProvider();
 
   int resetCount = 0;
   private List<String> frameworkPackages;
 
+  // incremented whenever the appenders or the additivity of any logger change
+  private final AtomicInteger appenderGeneration = new AtomicInteger();
+
   public LoggerContext() {
     super();
     this.loggerCache = new ConcurrentHashMap<String, Logger>();
+    this.turboFilterList.setChangeListener(new TurboFilterList.ChangeListener() {
+      public void turboFiltersChanged(TurboFilterList turboFilterList) {
+        updateEnabledLevels();
+      }
+    });
 
     this.loggerContextRemoteView = new LoggerContextVO(this);
     this.root = new Logger(Logger.ROOT_LOGGER_NAME, null, this);
     this.root.setLevel(Level.DEBUG);
     loggerCache.put(Logger.ROOT_LOGGER_NAME, root);
     initEvaluatorMap();
-    size = 1;
+    size.set(1);
     this.frameworkPackages = new ArrayList<String>();
   }
 
@@ -137,11 +156,15 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
       }
       // move i left of the last point
       i = h + 1;
-      synchronized (logger) {
-        childLogger = logger.getChildByName(childName);
-        if (childLogger == null) {
-          childLogger = logger.createChildByName(childName);
-          loggerCache.put(childName, childLogger);
+      // no lock is taken, threads racing to create the same logger all obtain
+      // the instance which was added to the children of its parent first
+      childLogger = logger.getChildByName(childName);
+      if (childLogger == null) {
+        childLogger = logger.createChildByName(childName);
+        if (loggerCache.putIfAbsent(childName, childLogger) == null) {
+          // turbo filters changed after the child was created but before it
+          // was visible in the cache would otherwise go unnoticed
+          childLogger.updateEnabledLevels();
           incSize();
         }
       }
@@ -153,11 +176,11 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
   }
 
   private void incSize() {
-    size++;
+    size.incrementAndGet();
   }
 
   int size() {
-    return size;
+    return size.get();
   }
 
   /**
@@ -170,6 +193,18 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
     return (Logger) loggerCache.get(name);
   }
 
+  final int getAppenderGeneration() {
+    return appenderGeneration.get();
+  }
+
+  /**
+   * Invalidates the appender arrays cached by loggers. Must be called after
+   * the appenders or the additivity of a logger have changed.
+   */
+  final void appendersChanged() {
+    appenderGeneration.incrementAndGet();
+  }
+
   final void noAppenderDefinedWarning(final Logger logger) {
     if (noAppenderWarning++ == 0) {
       getStatusManager().add(
@@ -197,6 +232,48 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
     return packagingDataEnabled;
   }
 
+  /**
+   * When set to true, loggers whose appenders all process events synchronously
+   * reuse a single {@link LoggingEvent} per thread instead of creating one for
+   * each logging request. Appenders keeping references to events must then
+   * implement {@link ch.qos.logback.core.spi.EventRetaining}. Reverts to false
+   * when the context is reset.
+   *
+   * @since 1.1.3
+   */
+  public void setReuseLoggingEvents(boolean reuseLoggingEvents) {
+    this.reuseLoggingEvents = reuseLoggingEvents;
+  }
+
+  public boolean isReuseLoggingEvents() {
+    return reuseLoggingEvents;
+  }
+
+  LoggingEventPool getLoggingEventPool() {
+    return loggingEventPool;
+  }
+
+  /**
+   * Makes loggers hand logging requests over to the given dispatcher, which
+   * must have been started, instead of invoking their appenders in the
+   * calling thread. A previously set dispatcher is stopped. The dispatcher is
+   * stopped and removed when the context is reset.
+   *
+   * @param asyncLogging the dispatcher, or null to log synchronously
+   * @since 1.1.3
+   */
+  public void setAsyncLogging(AsyncLoggingDispatcher asyncLogging) {
+    AsyncLoggingDispatcher previous = this.asyncLogging;
+    this.asyncLogging = asyncLogging;
+    if (previous != null && previous != asyncLogging) {
+      previous.stop();
+    }
+  }
+
+  public AsyncLoggingDispatcher getAsyncLogging() {
+    return asyncLogging;
+  }
+
   /**
    * This method clears all internal properties, except internal status messages,
    * closes all appenders, removes any turboFilters, fires an OnReset event,
@@ -208,7 +285,11 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
   @Override
   public void reset() {
     resetCount++;
+    // pending requests are dispatched while the appenders are still running
+    setAsyncLogging(null);
     super.reset();
+    reuseLoggingEvents = false;
+    clearCallerDataCache();
     initEvaluatorMap();
     root.recursiveReset();
     resetTurboFilterList();
@@ -217,6 +298,13 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
     resetStatusListeners();
   }
 
+  private void clearCallerDataCache() {
+    CallerDataProvider provider = callerDataProvider;
+    if (provider instanceof StackWalkerCallerDataProvider) {
+      ((StackWalkerCallerDataProvider) provider).clearCache();
+    }
+  }
+
   private void resetStatusListeners() {
     StatusManager sm = getStatusManager();
     for (StatusListener sl : sm.getCopyOfStatusListenerList()) {
@@ -224,6 +312,12 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
     }
   }
 
+  private void updateEnabledLevels() {
+    for (Logger logger : loggerCache.values()) {
+      logger.updateEnabledLevels();
+    }
+  }
+
   public TurboFilterList getTurboFilterList() {
     return turboFilterList;
   }
@@ -246,7 +340,7 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
   final FilterReply getTurboFilterChainDecision_0_3OrMore(final Marker marker,
                                                           final Logger logger, final Level level, final String format,
                                                           final Object[] params, final Throwable t) {
-    if (turboFilterList.size() == 0) {
+    if (!turboFilterList.canAffect(level, marker)) {
       return FilterReply.NEUTRAL;
     }
     return turboFilterList.getTurboFilterChainDecision(marker, logger, level,
@@ -256,7 +350,7 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
   final FilterReply getTurboFilterChainDecision_1(final Marker marker,
                                                   final Logger logger, final Level level, final String format,
                                                   final Object param, final Throwable t) {
-    if (turboFilterList.size() == 0) {
+    if (!turboFilterList.canAffect(level, marker)) {
       return FilterReply.NEUTRAL;
     }
     return turboFilterList.getTurboFilterChainDecision(marker, logger, level,
@@ -266,7 +360,7 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
   final FilterReply getTurboFilterChainDecision_2(final Marker marker,
                                                   final Logger logger, final Level level, final String format,
                                                   final Object param1, final Object param2, final Throwable t) {
-    if (turboFilterList.size() == 0) {
+    if (!turboFilterList.canAffect(level, marker)) {
       return FilterReply.NEUTRAL;
     }
     return turboFilterList.getTurboFilterChainDecision(marker, logger, level,
@@ -352,6 +446,29 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
     this.maxCallerDataDepth = maxCallerDataDepth;
   }
 
+  /**
+   * Returns the provider computing the caller data of logging events.
+   *
+   * @since 1.1.3
+   */
+  public CallerDataProvider getCallerDataProvider() {
+    return callerDataProvider;
+  }
+
+  /**
+   * Sets the provider computing the caller data of logging events. By default,
+   * the most efficient provider available on the running JVM is used, see
+   * {@link CallerData#newDefaultProvider()}.
+   *
+   * @since 1.1.3
+   */
+  public void setCallerDataProvider(CallerDataProvider callerDataProvider) {
+    if (callerDataProvider == null) {
+      throw new IllegalArgumentException("callerDataProvider cannot be null");
+    }
+    this.callerDataProvider = callerDataProvider;
+  }
+
   /**
    * List of packages considered part of the logging framework such that they are never considered
    * as callers of the logging framework. This list used to compute the caller for logging events.
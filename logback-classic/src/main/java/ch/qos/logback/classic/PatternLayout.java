@@ -19,6 +19,7 @@ import java.util.Map;
 import ch.qos.logback.classic.pattern.*;
 import ch.qos.logback.classic.pattern.color.HighlightingCompositeConverter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppendingLayout;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.pattern.PatternLayoutBase;
 import ch.qos.logback.core.pattern.color.*;
@@ -36,7 +37,8 @@ import ch.qos.logback.core.pattern.parser.Parser;
  * 
  */
 
-public class PatternLayout extends PatternLayoutBase<ILoggingEvent> {
+public class PatternLayout extends PatternLayoutBase<ILoggingEvent> implements
+    AppendingLayout<ILoggingEvent> {
 
   public static final Map<String, String> defaultConverterMap = new HashMap<String, String>();
   public static final String HEADER_PREFIX = "#logback.classic pattern: ";
@@ -149,6 +151,18 @@ public class PatternLayout extends PatternLayoutBase<ILoggingEvent> {
     return writeLoopOnConverters(event);
   }
 
+  /**
+   * Append the formatted event to the buffer passed as parameter.
+   *
+   * @since 1.1.3
+   */
+  public void doLayout(ILoggingEvent event, StringBuilder buf) {
+    if (!isStarted()) {
+      return;
+    }
+    writeLoopOnConverters(event, buf);
+  }
+
   @Override
   protected String getPresentationHeaderPrefix() {
     return HEADER_PREFIX;
@@ -0,0 +1,70 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.jmx;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+
+/**
+ * Standard MBean publishing the statistics of an {@link AsyncAppender}.
+ *
+ * <p>Since this class implements {@link AsyncAppenderStatsMBean} it has to be
+ * named as AsyncAppenderStats.
+ *
+ * @since 1.1.3
+ */
+public class AsyncAppenderStats implements AsyncAppenderStatsMBean {
+
+  final AsyncAppender asyncAppender;
+
+  public AsyncAppenderStats(AsyncAppender asyncAppender) {
+    this.asyncAppender = asyncAppender;
+  }
+
+  public int getQueueSize() {
+    return asyncAppender.getQueueSize();
+  }
+
+  public int getNumberOfElementsInQueue() {
+    return asyncAppender.getNumberOfElementsInQueue();
+  }
+
+  public int getRemainingCapacity() {
+    return asyncAppender.getRemainingCapacity();
+  }
+
+  public long getDroppedEventCount() {
+    return asyncAppender.getDroppedEventCount();
+  }
+
+  public long getDroppedTraceEventCount() {
+    return asyncAppender.getDroppedEventCount(Level.TRACE);
+  }
+
+  public long getDroppedDebugEventCount() {
+    return asyncAppender.getDroppedEventCount(Level.DEBUG);
+  }
+
+  public long getDroppedInfoEventCount() {
+    return asyncAppender.getDroppedEventCount(Level.INFO);
+  }
+
+  public long getDroppedWarnEventCount() {
+    return asyncAppender.getDroppedEventCount(Level.WARN);
+  }
+
+  public long getDroppedErrorEventCount() {
+    return asyncAppender.getDroppedEventCount(Level.ERROR);
+  }
+}
@@ -0,0 +1,41 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.jmx;
+
+/**
+ * Exposes the queue and drop statistics of an
+ * {@link ch.qos.logback.classic.AsyncAppender} via JMX.
+ *
+ * @since 1.1.3
+ */
+public interface AsyncAppenderStatsMBean {
+
+  int getQueueSize();
+
+  int getNumberOfElementsInQueue();
+
+  int getRemainingCapacity();
+
+  long getDroppedEventCount();
+
+  long getDroppedTraceEventCount();
+
+  long getDroppedDebugEventCount();
+
+  long getDroppedInfoEventCount();
+
+  long getDroppedWarnEventCount();
+
+  long getDroppedErrorEventCount();
+}
@@ -29,6 +29,8 @@ public class ConfigurationAction extends Action {
   static final String INTERNAL_DEBUG_ATTR = "debug";
   static final String SCAN_ATTR = "scan";
   static final String SCAN_PERIOD_ATTR = "scanPeriod";
+  static final String BACKGROUND_SCAN_ATTR = "backgroundScan";
+  static final String REUSE_LOGGING_EVENTS_ATTR = "reuseLoggingEvents";
   static final String DEBUG_SYSTEM_PROPERTY_KEY = "logback.debug";
 
   long threshold = 0;
@@ -52,6 +54,7 @@ public class ConfigurationAction extends Action {
     }
 
     processScanAttrib(ic, attributes);
+    processReuseLoggingEventsAttrib(ic, attributes);
 
     ContextUtil contextUtil = new ContextUtil(context);
     contextUtil.addHostNameAsProperty();
@@ -95,10 +98,28 @@ public class ConfigurationAction extends Action {
           addError("Error while converting [" + scanAttrib + "] to long", nfe);
         }
       }
+      String backgroundScanAttrib = ic.subst(attributes.getValue(BACKGROUND_SCAN_ATTR));
+      if ("true".equalsIgnoreCase(backgroundScanAttrib)) {
+        rocf.setBackgroundScan(true);
+      }
       rocf.start();
-      LoggerContext lc = (LoggerContext) context;
-      addInfo("Adding ReconfigureOnChangeFilter as a turbo filter");
-      lc.addTurboFilter(rocf);
+      if (rocf.isBackgroundScan()) {
+        // stay off the logging path, the context only needs to stop the filter on reset
+        addInfo("Registering ReconfigureOnChangeFilter with the context");
+        context.register(rocf);
+      } else {
+        LoggerContext lc = (LoggerContext) context;
+        addInfo("Adding ReconfigureOnChangeFilter as a turbo filter");
+        lc.addTurboFilter(rocf);
+      }
+    }
+  }
+
+  void processReuseLoggingEventsAttrib(InterpretationContext ic, Attributes attributes) {
+    String reuseAttrib = ic.subst(attributes.getValue(REUSE_LOGGING_EVENTS_ATTR));
+    if ("true".equalsIgnoreCase(reuseAttrib)) {
+      addInfo("Logging events will be reused by loggers without event retaining appenders");
+      ((LoggerContext) context).setReuseLoggingEvents(true);
     }
   }
 
@@ -83,7 +83,12 @@ public class CallerDataConverter extends ClassicConverter {
 
   public String convert(ILoggingEvent le) {
     StringBuilder buf = new StringBuilder();
+    convert(le, buf);
+    return buf.toString();
+  }
 
+  @Override
+  public void convert(ILoggingEvent le, StringBuilder buf) {
     if (evaluatorList != null) {
       boolean printCallerData = false;
       for (int i = 0; i < evaluatorList.size(); i++) {
@@ -112,7 +117,7 @@ public class CallerDataConverter extends ClassicConverter {
       }
 
       if (!printCallerData) {
-        return CoreConstants.EMPTY_STRING;
+        return;
       }
     }
 
@@ -127,9 +132,8 @@ public class CallerDataConverter extends ClassicConverter {
         buf.append(cda[i]);
         buf.append(CoreConstants.LINE_SEPARATOR);
       }
-      return buf.toString();
     } else {
-      return CallerData.CALLER_DATA_NA;
+      buf.append(CallerData.CALLER_DATA_NA);
     }
   }
 
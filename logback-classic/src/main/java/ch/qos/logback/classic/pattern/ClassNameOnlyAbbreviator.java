@@ -21,7 +21,7 @@ import ch.qos.logback.core.CoreConstants;
  * 
  * @author Ceki G&uuml;lc&uuml;
  */
-public class ClassNameOnlyAbbreviator implements Abbreviator {
+public class ClassNameOnlyAbbreviator implements AppendingAbbreviator {
 
   public String abbreviate(String fqClassName) {
     // we ignore the fact that the separator character can also be a dollar
@@ -34,4 +34,9 @@ public class ClassNameOnlyAbbreviator implements Abbreviator {
       return fqClassName;
     }
   }
+
+  public void abbreviate(String fqClassName, StringBuilder buf) {
+    int lastIndex = fqClassName.lastIndexOf(CoreConstants.DOT);
+    buf.append(fqClassName, lastIndex + 1, fqClassName.length());
+  }
 }
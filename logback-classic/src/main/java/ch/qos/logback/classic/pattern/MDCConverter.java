@@ -61,11 +61,27 @@ public class MDCConverter extends ClassicConverter {
     }
   }
 
+  @Override
+  public void convert(ILoggingEvent event, StringBuilder buf) {
+    Map<String, String> mdcPropertyMap = event.getMDCPropertyMap();
+
+    if (mdcPropertyMap != null && key == null) {
+      outputMDCForAllKeys(mdcPropertyMap, buf);
+    } else {
+      buf.append(convert(event));
+    }
+  }
+
   /**
    * if no key is specified, return all the values present in the MDC, in the format "k1=v1, k2=v2, ..."
    */
   private String outputMDCForAllKeys(Map<String, String> mdcPropertyMap) {
     StringBuilder buf = new StringBuilder();
+    outputMDCForAllKeys(mdcPropertyMap, buf);
+    return buf.toString();
+  }
+
+  private void outputMDCForAllKeys(Map<String, String> mdcPropertyMap, StringBuilder buf) {
     boolean first = true;
     for (Map.Entry<String, String> entry : mdcPropertyMap.entrySet()) {
       if (first) {
@@ -76,6 +92,5 @@ public class MDCConverter extends ClassicConverter {
       //format: key0=value0, key1=value1
       buf.append(entry.getKey()).append('=').append(entry.getValue());
     }
-    return buf.toString();
   }
 }
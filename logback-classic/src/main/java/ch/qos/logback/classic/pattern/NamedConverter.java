@@ -53,4 +53,17 @@ public abstract class NamedConverter extends ClassicConverter {
       return abbreviator.abbreviate(fqn);
     }
   }
+
+  @Override
+  public void convert(ILoggingEvent event, StringBuilder buf) {
+    String fqn = getFullyQualifiedName(event);
+
+    if (abbreviator == null) {
+      buf.append(fqn);
+    } else if (abbreviator instanceof AppendingAbbreviator) {
+      ((AppendingAbbreviator) abbreviator).abbreviate(fqn, buf);
+    } else {
+      buf.append(abbreviator.abbreviate(fqn));
+    }
+  }
 }
@@ -16,7 +16,7 @@ package ch.qos.logback.classic.pattern;
 import ch.qos.logback.classic.ClassicConstants;
 import ch.qos.logback.core.CoreConstants;
 
-public class TargetLengthBasedClassNameAbbreviator implements Abbreviator {
+public class TargetLengthBasedClassNameAbbreviator implements AppendingAbbreviator {
 
   final int targetLength;
 
@@ -25,14 +25,26 @@ public class TargetLengthBasedClassNameAbbreviator implements Abbreviator {
   }
 
   public String abbreviate(String fqClassName) {
+    if (fqClassName == null) {
+      throw new IllegalArgumentException("Class name may not be null");
+    }
+    if (fqClassName.length() < targetLength) {
+      return fqClassName;
+    }
     StringBuilder buf = new StringBuilder(targetLength);
+    abbreviate(fqClassName, buf);
+    return buf.toString();
+  }
+
+  public void abbreviate(String fqClassName, StringBuilder buf) {
     if (fqClassName == null) {
       throw new IllegalArgumentException("Class name may not be null");
     }
 
     int inLen = fqClassName.length();
     if (inLen < targetLength) {
-      return fqClassName;
+      buf.append(fqClassName);
+      return;
     }
 
     int[] dotIndexesArray = new int[ClassicConstants.MAX_DOTS];
@@ -42,26 +54,20 @@ public class TargetLengthBasedClassNameAbbreviator implements Abbreviator {
 
     int dotCount = computeDotIndexes(fqClassName, dotIndexesArray);
 
-    // System.out.println();
-    // System.out.println("Dot count for [" + className + "] is " + dotCount);
     // if there are not dots than abbreviation is not possible
     if (dotCount == 0) {
-      return fqClassName;
+      buf.append(fqClassName);
+      return;
     }
-    // printArray("dotArray: ", dotArray);
     computeLengthArray(fqClassName, dotIndexesArray, lengthArray, dotCount);
-    // printArray("lengthArray: ", lengthArray);
     for (int i = 0; i <= dotCount; i++) {
       if (i == 0) {
-        buf.append(fqClassName.substring(0, lengthArray[i] - 1));
+        buf.append(fqClassName, 0, lengthArray[i] - 1);
       } else {
-        buf.append(fqClassName.substring(dotIndexesArray[i - 1],
-            dotIndexesArray[i - 1] + lengthArray[i]));
+        int start = dotIndexesArray[i - 1];
+        buf.append(fqClassName, start, start + lengthArray[i]);
       }
-      // System.out.println("i=" + i + ", buf=" + buf);
     }
-
-    return buf.toString();
   }
 
   static int computeDotIndexes(final String className, int[] dotArray) {
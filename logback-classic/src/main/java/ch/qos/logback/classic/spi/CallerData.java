@@ -92,6 +92,26 @@ public class CallerData {
     return callerDataArray;
   }
 
+  /**
+   * Returns a new instance of the most efficient {@link CallerDataProvider}
+   * available on the running JVM: a {@link StackWalkerCallerDataProvider} as
+   * of Java 9, a {@link DepthLimitedCallerDataProvider} on earlier JVMs giving
+   * access to individual stack trace elements, and a
+   * {@link ThrowableCallerDataProvider} otherwise.
+   *
+   * @since 1.1.3
+   */
+  public static CallerDataProvider newDefaultProvider() {
+    CallerDataProvider provider = StackWalkerCallerDataProvider.newInstance();
+    if (provider == null) {
+      provider = DepthLimitedCallerDataProvider.newInstance();
+    }
+    if (provider == null) {
+      provider = new ThrowableCallerDataProvider();
+    }
+    return provider;
+  }
+
   static boolean isInFrameworkSpace(String currentClass,
                                     String fqnOfInvokingClass, List<String> frameworkPackageList) {
     // the check for org.apache.log4j.Category class is intended to support
@@ -0,0 +1,41 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.util.List;
+
+/**
+ * Computes the caller data of logging events, that is the stack frames
+ * following the frames of the logging framework.
+ * <p/>
+ * Implementations are invoked on the thread that issued the logging request
+ * and must be thread-safe.
+ *
+ * @since 1.1.3
+ */
+public interface CallerDataProvider {
+
+  /**
+   * Returns at most <code>maxDepth</code> frames of the current thread's stack
+   * starting with the caller of the logging framework, or
+   * {@link CallerData#EMPTY_CALLER_DATA_ARRAY} if no such caller could be found.
+   *
+   * @param fqnOfInvokingClass the fully qualified name of the logger class
+   * @param maxDepth the maximum number of frames to return
+   * @param frameworkPackageList additional packages considered part of the
+   *                             logging framework, may be null
+   */
+  StackTraceElement[] getCallerData(String fqnOfInvokingClass, int maxDepth,
+                                    List<String> frameworkPackageList);
+}
@@ -0,0 +1,102 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * A {@link CallerDataProvider} for runtimes prior to Java 9 which reads the
+ * stack trace of a {@link Throwable} one element at a time, through
+ * <code>sun.misc.JavaLangAccess</code>, instead of materializing it whole.
+ * Only the frames of the logging framework, the caller and at most
+ * <code>maxDepth</code> frames in total are converted into
+ * {@link StackTraceElement} instances.
+ *
+ * @since 1.1.3
+ */
+public class DepthLimitedCallerDataProvider implements CallerDataProvider {
+
+  private final Object javaLangAccess;
+  private final Method getStackTraceDepth;
+  private final Method getStackTraceElement;
+
+  private DepthLimitedCallerDataProvider() throws Exception {
+    Class<?> sharedSecrets = Class.forName("sun.misc.SharedSecrets");
+    Class<?> javaLangAccessClass = Class.forName("sun.misc.JavaLangAccess");
+    javaLangAccess = sharedSecrets.getMethod("getJavaLangAccess").invoke(null);
+    getStackTraceDepth = javaLangAccessClass.getMethod("getStackTraceDepth", Throwable.class);
+    getStackTraceElement = javaLangAccessClass.getMethod("getStackTraceElement", Throwable.class, int.class);
+    // fail now rather than on the first logging request
+    getStackTraceDepth.invoke(javaLangAccess, new Throwable());
+  }
+
+  /**
+   * Returns a new instance, or null if the running JVM does not give access
+   * to individual stack trace elements.
+   */
+  public static DepthLimitedCallerDataProvider newInstance() {
+    try {
+      return new DepthLimitedCallerDataProvider();
+    } catch (Exception e) {
+      return null;
+    } catch (LinkageError e) {
+      return null;
+    }
+  }
+
+  public StackTraceElement[] getCallerData(String fqnOfInvokingClass, int maxDepth,
+                                           List<String> frameworkPackageList) {
+    Throwable t = new Throwable();
+    try {
+      return extract(t, fqnOfInvokingClass, maxDepth, frameworkPackageList);
+    } catch (Exception e) {
+      return CallerData.extract(t, fqnOfInvokingClass, maxDepth, frameworkPackageList);
+    }
+  }
+
+  private StackTraceElement[] extract(Throwable t, String fqnOfInvokingClass, int maxDepth,
+                                      List<String> frameworkPackageList) throws Exception {
+    int depth = (Integer) getStackTraceDepth.invoke(javaLangAccess, t);
+
+    int found = CallerData.LINE_NA;
+    StackTraceElement caller = null;
+    for (int i = 0; i < depth; i++) {
+      StackTraceElement ste = elementAt(t, i);
+      if (CallerData.isInFrameworkSpace(ste.getClassName(), fqnOfInvokingClass, frameworkPackageList)) {
+        // the caller is assumed to be the next stack frame, hence the +1.
+        found = i + 1;
+      } else if (found != CallerData.LINE_NA) {
+        caller = ste;
+        break;
+      }
+    }
+
+    if (found == CallerData.LINE_NA) {
+      return CallerData.EMPTY_CALLER_DATA_ARRAY;
+    }
+
+    int availableDepth = depth - found;
+    int desiredDepth = maxDepth < availableDepth ? maxDepth : availableDepth;
+    StackTraceElement[] callerDataArray = new StackTraceElement[desiredDepth];
+    for (int i = 0; i < desiredDepth; i++) {
+      callerDataArray[i] = (i == 0 && caller != null) ? caller : elementAt(t, found + i);
+    }
+    return callerDataArray;
+  }
+
+  private StackTraceElement elementAt(Throwable t, int index) throws Exception {
+    return (StackTraceElement) getStackTraceElement.invoke(javaLangAccess, t, index);
+  }
+}
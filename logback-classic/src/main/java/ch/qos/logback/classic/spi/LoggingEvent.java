@@ -84,6 +84,12 @@ public class LoggingEvent implements ILoggingEvent {
 
   private transient Object[] argumentArray;
 
+  // arguments of the one and two argument logging methods, kept out of
+  // argumentArray until an array is actually requested
+  private transient int inlineArgumentCount;
+  private transient Object inlineArgument1;
+  private transient Object inlineArgument2;
+
   private ThrowableProxy throwableProxy;
 
   private StackTraceElement[] callerDataArray;
@@ -104,28 +110,115 @@ public class LoggingEvent implements ILoggingEvent {
 
   public LoggingEvent(String fqcn, Logger logger, Level level, String message,
                       Throwable throwable, Object[] argArray) {
-    this.fqnOfLoggerClass = fqcn;
-    this.loggerName = logger.getName();
-    this.loggerContext = logger.getLoggerContext();
-    this.loggerContextVO = loggerContext.getLoggerContextRemoteView();
-    this.level = level;
+    initialize(fqcn, logger, level, message, throwable, argArray);
+  }
 
-    this.message = message;
+  /**
+   * Builds an event for a message with a single argument, which is not wrapped
+   * in an array unless {@link #getArgumentArray()} is invoked. If the throwable
+   * is null and the argument is a throwable, the latter is taken as the
+   * throwable of the event.
+   *
+   * @since 1.1.3
+   */
+  public LoggingEvent(String fqcn, Logger logger, Level level, String message,
+                      Throwable throwable, Object arg) {
+    initialize(fqcn, logger, level, message, throwable, arg);
+  }
+
+  /**
+   * Builds an event for a message with two arguments, which are not wrapped
+   * in an array unless {@link #getArgumentArray()} is invoked. If the throwable
+   * is null and the second argument is a throwable, the latter is taken as the
+   * throwable of the event.
+   *
+   * @since 1.1.3
+   */
+  public LoggingEvent(String fqcn, Logger logger, Level level, String message,
+                      Throwable throwable, Object arg1, Object arg2) {
+    initialize(fqcn, logger, level, message, throwable, arg1, arg2);
+  }
+
+  void initialize(String fqcn, Logger logger, Level level, String message,
+                  Throwable throwable, Object[] argArray) {
+    init(fqcn, logger, level, message);
     this.argumentArray = argArray;
 
     if(throwable == null) {
       throwable = extractThrowableAnRearrangeArguments(argArray);
     }
+    initThrowableProxy(throwable);
+  }
 
+  void initialize(String fqcn, Logger logger, Level level, String message,
+                  Throwable throwable, Object arg) {
+    init(fqcn, logger, level, message);
+    if (throwable == null && arg instanceof Throwable) {
+      throwable = (Throwable) arg;
+      // as when the throwable is trimmed off an argument array
+      this.argumentArray = new Object[0];
+    } else {
+      this.inlineArgumentCount = 1;
+      this.inlineArgument1 = arg;
+    }
+    initThrowableProxy(throwable);
+  }
+
+  void initialize(String fqcn, Logger logger, Level level, String message,
+                  Throwable throwable, Object arg1, Object arg2) {
+    init(fqcn, logger, level, message);
+    this.inlineArgument1 = arg1;
+    if (throwable == null && arg2 instanceof Throwable) {
+      throwable = (Throwable) arg2;
+      this.inlineArgumentCount = 1;
+    } else {
+      this.inlineArgumentCount = 2;
+      this.inlineArgument2 = arg2;
+    }
+    initThrowableProxy(throwable);
+  }
+
+  private void init(String fqcn, Logger logger, Level level, String message) {
+    this.fqnOfLoggerClass = fqcn;
+    this.loggerName = logger.getName();
+    this.loggerContext = logger.getLoggerContext();
+    this.loggerContextVO = loggerContext.getLoggerContextRemoteView();
+    this.level = level;
+    this.message = message;
+    timeStamp = System.currentTimeMillis();
+  }
+
+  /**
+   * Returns this event to the state of a newly constructed one, so that it can
+   * be initialized again by {@link LoggingEventPool}.
+   */
+  void clear() {
+    fqnOfLoggerClass = null;
+    threadName = null;
+    loggerName = null;
+    loggerContext = null;
+    loggerContextVO = null;
+    level = null;
+    message = null;
+    formattedMessage = null;
+    argumentArray = null;
+    inlineArgumentCount = 0;
+    inlineArgument1 = null;
+    inlineArgument2 = null;
+    throwableProxy = null;
+    callerDataArray = null;
+    marker = null;
+    mdcPropertyMap = null;
+    timeStamp = 0;
+  }
+
+  private void initThrowableProxy(Throwable throwable) {
     if (throwable != null) {
       this.throwableProxy = new ThrowableProxy(throwable);
-      LoggerContext lc = logger.getLoggerContext();
-      if (lc.isPackagingDataEnabled()) {
+      if (loggerContext.isPackagingDataEnabled()) {
         this.throwableProxy.calculatePackagingData();
       }
     }
-
-    timeStamp = System.currentTimeMillis();
   }
 
   private Throwable extractThrowableAnRearrangeArguments(Object[] argArray) {
@@ -137,13 +230,20 @@ public class LoggingEvent implements ILoggingEvent {
   }
 
   public void setArgumentArray(Object[] argArray) {
-    if (this.argumentArray != null) {
+    if (this.argumentArray != null || inlineArgumentCount != 0) {
       throw new IllegalStateException("argArray has been already set");
     }
     this.argumentArray = argArray;
   }
 
   public Object[] getArgumentArray() {
+    if (argumentArray == null && inlineArgumentCount != 0) {
+      if (inlineArgumentCount == 1) {
+        argumentArray = new Object[] { inlineArgument1 };
+      } else {
+        argumentArray = new Object[] { inlineArgument1, inlineArgument2 };
+      }
+    }
     return this.argumentArray;
   }
 
@@ -259,7 +359,7 @@ public class LoggingEvent implements ILoggingEvent {
    */
   public StackTraceElement[] getCallerData() {
     if (callerDataArray == null) {
-      callerDataArray = CallerData.extract(new Throwable(), fqnOfLoggerClass,
+      callerDataArray = loggerContext.getCallerDataProvider().getCallerData(fqnOfLoggerClass,
               loggerContext.getMaxCallerDataDepth(), loggerContext.getFrameworkPackages());
     }
     return callerDataArray;
@@ -297,6 +397,12 @@ public class LoggingEvent implements ILoggingEvent {
     if (argumentArray != null) {
       formattedMessage = MessageFormatter.arrayFormat(message, argumentArray)
               .getMessage();
+    } else if (inlineArgumentCount == 1) {
+      formattedMessage = MessageFormatter.format(message, inlineArgument1)
+              .getMessage();
+    } else if (inlineArgumentCount == 2) {
+      formattedMessage = MessageFormatter.format(message, inlineArgument1,
+              inlineArgument2).getMessage();
     } else {
       formattedMessage = message;
     }
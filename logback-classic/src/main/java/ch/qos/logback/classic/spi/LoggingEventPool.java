@@ -0,0 +1,76 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Hands out one reusable {@link LoggingEvent} per thread. An event obtained
+ * through one of the <code>take</code> methods must be given back by
+ * {@link #release(LoggingEvent)} once the appenders it was passed to have
+ * returned, and only if none of them kept a reference to it.
+ *
+ * <p>A thread logging while its event is in use, for example from within an
+ * appender, is given a new event instead. At most one idle event is kept per
+ * thread.
+ *
+ * @since 1.1.3
+ */
+public class LoggingEventPool {
+
+  private final ThreadLocal<LoggingEvent> idleEvent = new ThreadLocal<LoggingEvent>();
+
+  public LoggingEvent take(String fqcn, Logger logger, Level level, String message,
+                           Throwable throwable, Object[] argArray) {
+    LoggingEvent event = takeIdleEvent();
+    event.initialize(fqcn, logger, level, message, throwable, argArray);
+    return event;
+  }
+
+  public LoggingEvent take(String fqcn, Logger logger, Level level, String message,
+                           Throwable throwable, Object arg) {
+    LoggingEvent event = takeIdleEvent();
+    event.initialize(fqcn, logger, level, message, throwable, arg);
+    return event;
+  }
+
+  public LoggingEvent take(String fqcn, Logger logger, Level level, String message,
+                           Throwable throwable, Object arg1, Object arg2) {
+    LoggingEvent event = takeIdleEvent();
+    event.initialize(fqcn, logger, level, message, throwable, arg1, arg2);
+    return event;
+  }
+
+  private LoggingEvent takeIdleEvent() {
+    LoggingEvent event = idleEvent.get();
+    if (event == null) {
+      return new LoggingEvent();
+    }
+    idleEvent.set(null);
+    return event;
+  }
+
+  /**
+   * Makes the event available to the next <code>take</code> invocation of
+   * the current thread. The event is cleared so that the pool does not keep
+   * the arguments, the logger or its context reachable.
+   */
+  public void release(LoggingEvent event) {
+    event.clear();
+    if (idleEvent.get() == null) {
+      idleEvent.set(event);
+    }
+  }
+}
@@ -0,0 +1,253 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link CallerDataProvider} walking the stack with
+ * <code>java.lang.StackWalker</code>, available as of Java 9. Frames are
+ * fetched lazily and the walk stops as soon as <code>maxDepth</code> frames
+ * following the logging framework have been collected.
+ * <p/>
+ * Resolving the file name and line number of a frame being comparatively
+ * expensive, the resulting {@link StackTraceElement} instances are cached per
+ * call site, that is per method and bytecode index, for up to
+ * {@link #MAX_CACHED_CALL_SITES} call sites. Once the cache is full, the
+ * elements of further call sites are computed on each request until the
+ * cache is cleared by {@link #clearCache()}, which
+ * {@link ch.qos.logback.classic.LoggerContext#reset()} invokes. Cache entries
+ * refer to their declaring class weakly so as not to prevent the unloading of
+ * its class loader.
+ * <p/>
+ * As logback is compiled against Java 6, <code>StackWalker</code> is accessed
+ * through reflection.
+ *
+ * @since 1.1.3
+ */
+public class StackWalkerCallerDataProvider implements CallerDataProvider {
+
+  public static final int MAX_CACHED_CALL_SITES = 4096;
+
+  private final Object stackWalker;
+  private final Method walk;
+  private final Class<?> functionClass;
+  private final Method iterator;
+  private final Method getClassName;
+  private final Method getDeclaringClass;
+  private final Method getMethodName;
+  private final Method getDescriptor;
+  private final Method getByteCodeIndex;
+  private final Method toStackTraceElement;
+
+  private final ConcurrentMap<CallSite, CachedElement> callSiteCache = new ConcurrentHashMap<CallSite, CachedElement>();
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private StackWalkerCallerDataProvider() throws Exception {
+    Class<?> stackWalkerClass = Class.forName("java.lang.StackWalker");
+    Class optionClass = Class.forName("java.lang.StackWalker$Option");
+    Class<?> stackFrameClass = Class.forName("java.lang.StackWalker$StackFrame");
+    // reflection frames are shown for consistency with Throwable.getStackTrace()
+    Set options = EnumSet.of(Enum.valueOf(optionClass, "RETAIN_CLASS_REFERENCE"),
+        Enum.valueOf(optionClass, "SHOW_REFLECT_FRAMES"));
+    stackWalker = stackWalkerClass.getMethod("getInstance", Set.class).invoke(null, options);
+    functionClass = Class.forName("java.util.function.Function");
+    walk = stackWalkerClass.getMethod("walk", functionClass);
+    iterator = Class.forName("java.util.stream.BaseStream").getMethod("iterator");
+    getClassName = stackFrameClass.getMethod("getClassName");
+    getDeclaringClass = stackFrameClass.getMethod("getDeclaringClass");
+    getMethodName = stackFrameClass.getMethod("getMethodName");
+    // as of Java 10, distinguishes overloaded methods
+    getDescriptor = stackFrameClass.getMethod("getDescriptor");
+    getByteCodeIndex = stackFrameClass.getMethod("getByteCodeIndex");
+    toStackTraceElement = stackFrameClass.getMethod("toStackTraceElement");
+    // fail now rather than on the first logging request
+    walk(StackWalkerCallerDataProvider.class.getName(), 1, Collections.<String>emptyList());
+  }
+
+  /**
+   * Returns a new instance, or null if the running JVM does not provide
+   * <code>StackWalker</code>.
+   */
+  public static StackWalkerCallerDataProvider newInstance() {
+    try {
+      return new StackWalkerCallerDataProvider();
+    } catch (Exception e) {
+      return null;
+    } catch (LinkageError e) {
+      return null;
+    }
+  }
+
+  public StackTraceElement[] getCallerData(String fqnOfInvokingClass, int maxDepth,
+                                           List<String> frameworkPackageList) {
+    try {
+      return walk(fqnOfInvokingClass, maxDepth, frameworkPackageList);
+    } catch (Exception e) {
+      return CallerData.extract(new Throwable(), fqnOfInvokingClass, maxDepth, frameworkPackageList);
+    }
+  }
+
+  private StackTraceElement[] walk(String fqnOfInvokingClass, int maxDepth,
+                                   List<String> frameworkPackageList) throws Exception {
+    Walk walkFunction = new Walk(fqnOfInvokingClass, maxDepth, frameworkPackageList);
+    Object function = Proxy.newProxyInstance(StackWalkerCallerDataProvider.class.getClassLoader(),
+        new Class<?>[]{functionClass}, walkFunction);
+    return (StackTraceElement[]) walk.invoke(stackWalker, function);
+  }
+
+  /**
+   * Discard all cached call sites.
+   */
+  public void clearCache() {
+    callSiteCache.clear();
+  }
+
+  int cachedCallSiteCount() {
+    return callSiteCache.size();
+  }
+
+  private StackTraceElement toStackTraceElement(Object frame) throws Exception {
+    Class<?> declaringClass = (Class<?>) getDeclaringClass.invoke(frame);
+    CallSite callSite = new CallSite((String) getClassName.invoke(frame),
+        (String) getMethodName.invoke(frame), (String) getDescriptor.invoke(frame),
+        (Integer) getByteCodeIndex.invoke(frame));
+    CachedElement cached = callSiteCache.get(callSite);
+    // a class of the same name may have been loaded by another class loader
+    if (cached != null && cached.declaringClassRef.get() == declaringClass) {
+      return cached.ste;
+    }
+    StackTraceElement ste = (StackTraceElement) toStackTraceElement.invoke(frame);
+    if (cached != null) {
+      callSiteCache.replace(callSite, cached, new CachedElement(declaringClass, ste));
+    } else if (callSiteCache.size() < MAX_CACHED_CALL_SITES) {
+      callSiteCache.putIfAbsent(callSite, new CachedElement(declaringClass, ste));
+    }
+    return ste;
+  }
+
+  /**
+   * The function passed to <code>StackWalker.walk</code>, collecting the
+   * frames following those of the logging framework.
+   */
+  private class Walk implements InvocationHandler {
+    final String fqnOfInvokingClass;
+    final int maxDepth;
+    final List<String> frameworkPackageList;
+
+    Walk(String fqnOfInvokingClass, int maxDepth, List<String> frameworkPackageList) {
+      this.fqnOfInvokingClass = fqnOfInvokingClass;
+      this.maxDepth = maxDepth;
+      this.frameworkPackageList = frameworkPackageList;
+    }
+
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getDeclaringClass() == Object.class) {
+        return method.invoke(this, args);
+      }
+      return collect((Iterator<?>) iterator.invoke(args[0]));
+    }
+
+    private StackTraceElement[] collect(Iterator<?> frames) throws Exception {
+      boolean found = false;
+      StackTraceElement[] callerDataArray = null;
+      int depth = 0;
+      while (frames.hasNext()) {
+        Object frame = frames.next();
+        if (callerDataArray == null) {
+          String className = (String) getClassName.invoke(frame);
+          if (CallerData.isInFrameworkSpace(className, fqnOfInvokingClass, frameworkPackageList)) {
+            found = true;
+            continue;
+          }
+          if (!found) {
+            continue;
+          }
+          callerDataArray = new StackTraceElement[maxDepth > 0 ? maxDepth : 0];
+        }
+        if (depth == callerDataArray.length) {
+          break;
+        }
+        callerDataArray[depth++] = toStackTraceElement(frame);
+      }
+
+      if (!found) {
+        return CallerData.EMPTY_CALLER_DATA_ARRAY;
+      }
+      if (callerDataArray == null) {
+        return new StackTraceElement[0];
+      }
+      if (depth < callerDataArray.length) {
+        StackTraceElement[] trimmed = new StackTraceElement[depth];
+        System.arraycopy(callerDataArray, 0, trimmed, 0, depth);
+        return trimmed;
+      }
+      return callerDataArray;
+    }
+  }
+
+  /**
+   * Identifies a call site by name, so that the key retains no class.
+   */
+  private static final class CallSite {
+    final String className;
+    final String methodName;
+    final String descriptor;
+    final int byteCodeIndex;
+
+    CallSite(String className, String methodName, String descriptor, int byteCodeIndex) {
+      this.className = className;
+      this.methodName = methodName;
+      this.descriptor = descriptor;
+      this.byteCodeIndex = byteCodeIndex;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof CallSite)) return false;
+      CallSite other = (CallSite) o;
+      return byteCodeIndex == other.byteCodeIndex && className.equals(other.className)
+          && methodName.equals(other.methodName) && descriptor.equals(other.descriptor);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = className.hashCode();
+      result = 31 * result + methodName.hashCode();
+      result = 31 * result + descriptor.hashCode();
+      return 31 * result + byteCodeIndex;
+    }
+  }
+
+  private static final class CachedElement {
+    final WeakReference<Class<?>> declaringClassRef;
+    final StackTraceElement ste;
+
+    CachedElement(Class<?> declaringClass, StackTraceElement ste) {
+      this.declaringClassRef = new WeakReference<Class<?>>(declaringClass);
+      this.ste = ste;
+    }
+  }
+}
@@ -0,0 +1,30 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.util.List;
+
+/**
+ * A {@link CallerDataProvider} extracting caller data from the stack trace of
+ * a new {@link Throwable}. The whole stack is materialized on each call.
+ *
+ * @since 1.1.3
+ */
+public class ThrowableCallerDataProvider implements CallerDataProvider {
+
+  public StackTraceElement[] getCallerData(String fqnOfInvokingClass, int maxDepth,
+                                           List<String> frameworkPackageList) {
+    return CallerData.extract(new Throwable(), fqnOfInvokingClass, maxDepth, frameworkPackageList);
+  }
+}
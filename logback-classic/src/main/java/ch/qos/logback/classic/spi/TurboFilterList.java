@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.classic.spi;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Marker;
@@ -24,6 +27,12 @@ import ch.qos.logback.core.spi.FilterReply;
 
 /**
  * Implementation of TurboFilterAttachable.
+ *
+ * <p>Whenever the list is modified, the filters are sorted into chains according
+ * to the levels and the presence of a marker for which they declare they
+ * {@link TurboFilter#canAffect(Level, boolean) can affect} logging calls. A
+ * call is then only presented to the filters which can affect it. Filters are
+ * expected to be fully configured by the time they are added to this list.
  * 
  * @author Ceki G&uuml;lc&uuml;
  */
@@ -31,6 +40,100 @@ final public class TurboFilterList extends CopyOnWriteArrayList<TurboFilter> {
 
   private static final long serialVersionUID = 1L;
 
+  private static final Level[] CHAIN_LEVELS = { Level.TRACE, Level.DEBUG,
+      Level.INFO, Level.WARN, Level.ERROR };
+
+  // chain of the filters to invoke for level i without a marker at index 2*i,
+  // with a marker at index 2*i+1, and for any other level at the last index
+  private transient volatile TurboFilter[][] chains = compileChains();
+
+  private transient volatile ChangeListener changeListener;
+
+  /**
+   * Notified after the filters of a {@link TurboFilterList} have changed.
+   *
+   * @since 1.1.3
+   */
+  public interface ChangeListener {
+    void turboFiltersChanged(TurboFilterList turboFilterList);
+  }
+
+  /**
+   * Sets the listener notified after each modification of this list.
+   *
+   * @since 1.1.3
+   */
+  public void setChangeListener(ChangeListener changeListener) {
+    this.changeListener = changeListener;
+  }
+
+  private void filtersChanged() {
+    // recompiling under a lock ensures that the chains of the last
+    // modification are the ones which remain
+    synchronized (this) {
+      chains = compileChains();
+    }
+    ChangeListener listener = changeListener;
+    if (listener != null) {
+      listener.turboFiltersChanged(this);
+    }
+  }
+
+  private TurboFilter[][] compileChains() {
+    Object[] all = toArray();
+    TurboFilter[][] result = new TurboFilter[2 * CHAIN_LEVELS.length + 1][];
+    for (int i = 0; i < CHAIN_LEVELS.length; i++) {
+      result[2 * i] = selectFilters(all, CHAIN_LEVELS[i], false);
+      result[2 * i + 1] = selectFilters(all, CHAIN_LEVELS[i], true);
+    }
+    result[2 * CHAIN_LEVELS.length] = selectFilters(all, null, false);
+    return result;
+  }
+
+  private static TurboFilter[] selectFilters(Object[] all, Level level, boolean markerPresent) {
+    List<TurboFilter> selected = new ArrayList<TurboFilter>(all.length);
+    for (Object o : all) {
+      TurboFilter tf = (TurboFilter) o;
+      if (level == null || tf.canAffect(level, markerPresent)) {
+        selected.add(tf);
+      }
+    }
+    return selected.toArray(new TurboFilter[selected.size()]);
+  }
+
+  private TurboFilter[] getChain(final Level level, final Marker marker) {
+    final TurboFilter[][] c = chains;
+    final int markerOffset = (marker == null) ? 0 : 1;
+    if (level == null) {
+      return c[2 * CHAIN_LEVELS.length];
+    }
+    switch (level.levelInt) {
+    case Level.TRACE_INT:
+      return c[markerOffset];
+    case Level.DEBUG_INT:
+      return c[2 + markerOffset];
+    case Level.INFO_INT:
+      return c[4 + markerOffset];
+    case Level.WARN_INT:
+      return c[6 + markerOffset];
+    case Level.ERROR_INT:
+      return c[8 + markerOffset];
+    default:
+      return c[2 * CHAIN_LEVELS.length];
+    }
+  }
+
+  /**
+   * Returns whether any filter in this list can affect a logging call at the
+   * given level, with the given marker. If not, the chain need not be invoked
+   * as its decision is known to be NEUTRAL.
+   *
+   * @since 1.1.3
+   */
+  public boolean canAffect(final Level level, final Marker marker) {
+    return getChain(level, marker).length != 0;
+  }
+
   /**
    * Loop through the filters in the chain. As soon as a filter decides on
    * ACCEPT or DENY, then that value is returned. If all of the filters return
@@ -39,27 +142,11 @@ final public class TurboFilterList extends CopyOnWriteArrayList<TurboFilter> {
   public FilterReply getTurboFilterChainDecision(final Marker marker,
       final Logger logger, final Level level, final String format,
       final Object[] params, final Throwable t) {
-    
-    
-    final int size = size();
-//    if (size == 0) {
-//      return FilterReply.NEUTRAL;
-//    }
-    if (size == 1) {
-      try {
-        TurboFilter tf = get(0);
-        return tf.decide(marker, logger, level, format, params, t);
-      } catch (IndexOutOfBoundsException iobe) {
-        return FilterReply.NEUTRAL;
-      }
-    }
-    
-    Object[] tfa = toArray();
-    final int len = tfa.length;
+
+    final TurboFilter[] chain = getChain(level, marker);
+    final int len = chain.length;
     for (int i = 0; i < len; i++) {
-    //for (TurboFilter tf : this) {
-      final TurboFilter tf = (TurboFilter) tfa[i];
-      final FilterReply r = tf.decide(marker, logger, level, format, params, t);
+      final FilterReply r = chain[i].decide(marker, logger, level, format, params, t);
       if (r == FilterReply.DENY || r == FilterReply.ACCEPT) {
         return r;
       }
@@ -67,16 +154,93 @@ final public class TurboFilterList extends CopyOnWriteArrayList<TurboFilter> {
     return FilterReply.NEUTRAL;
   }
 
-  // public boolean remove(TurboFilter turboFilter) {
-  // return tfList.remove(turboFilter);
-  // }
-  //
-  // public TurboFilter remove(int index) {
-  // return tfList.remove(index);
-  // }
-  //
-  // final public int size() {
-  // return tfList.size();
-  // }
+  // every modification recompiles the chains
+
+  @Override
+  public TurboFilter set(int index, TurboFilter element) {
+    TurboFilter previous = super.set(index, element);
+    filtersChanged();
+    return previous;
+  }
+
+  @Override
+  public boolean add(TurboFilter e) {
+    boolean result = super.add(e);
+    filtersChanged();
+    return result;
+  }
 
+  @Override
+  public void add(int index, TurboFilter element) {
+    super.add(index, element);
+    filtersChanged();
+  }
+
+  @Override
+  public TurboFilter remove(int index) {
+    TurboFilter removed = super.remove(index);
+    filtersChanged();
+    return removed;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    boolean result = super.remove(o);
+    filtersChanged();
+    return result;
+  }
+
+  @Override
+  public boolean addIfAbsent(TurboFilter e) {
+    boolean result = super.addIfAbsent(e);
+    filtersChanged();
+    return result;
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> c) {
+    boolean result = super.removeAll(c);
+    filtersChanged();
+    return result;
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> c) {
+    boolean result = super.retainAll(c);
+    filtersChanged();
+    return result;
+  }
+
+  @Override
+  public int addAllAbsent(Collection<? extends TurboFilter> c) {
+    int result = super.addAllAbsent(c);
+    filtersChanged();
+    return result;
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+    filtersChanged();
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends TurboFilter> c) {
+    boolean result = super.addAll(c);
+    filtersChanged();
+    return result;
+  }
+
+  @Override
+  public boolean addAll(int index, Collection<? extends TurboFilter> c) {
+    boolean result = super.addAll(index, c);
+    filtersChanged();
+    return result;
+  }
+
+  private void readObject(java.io.ObjectInputStream in) throws java.io.IOException,
+      ClassNotFoundException {
+    in.defaultReadObject();
+    chains = compileChains();
+  }
 }
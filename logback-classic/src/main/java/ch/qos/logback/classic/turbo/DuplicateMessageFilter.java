@@ -18,6 +18,7 @@ import org.slf4j.Marker;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.util.Duration;
 
 /**
  * 
@@ -41,11 +42,14 @@ public class DuplicateMessageFilter extends TurboFilter {
   public int allowedRepetitions = DEFAULT_ALLOWED_REPETITIONS;
   public int cacheSize = DEFAULT_CACHE_SIZE;
 
+  private Duration countResetPeriod;
+
   private LRUMessageCache msgCache;
 
   @Override
   public void start() {
-    msgCache = new LRUMessageCache(cacheSize);
+    long resetPeriodInMillis = countResetPeriod == null ? 0 : countResetPeriod.getMilliseconds();
+    msgCache = new LRUMessageCache(cacheSize, resetPeriodInMillis);
     super.start();
   }
 
@@ -88,4 +92,19 @@ public class DuplicateMessageFilter extends TurboFilter {
     this.cacheSize = cacheSize;
   }
 
+  public Duration getCountResetPeriod() {
+    return countResetPeriod;
+  }
+
+  /**
+   * When set, the count of a message restarts from zero once this period has
+   * elapsed since it was first counted, so that a message suppressed for a
+   * while is eventually logged again. Unset by default.
+   *
+   * @since 1.1.3
+   */
+  public void setCountResetPeriod(Duration countResetPeriod) {
+    this.countResetPeriod = countResetPeriod;
+  }
+
 }
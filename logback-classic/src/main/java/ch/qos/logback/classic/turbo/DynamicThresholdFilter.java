@@ -212,6 +212,28 @@ public class DynamicThresholdFilter extends TurboFilter {
     super.start();
   }
 
+  /**
+   * The level of a call is compared with the lowest and the highest of the
+   * configured thresholds to determine whether either reply can be given.
+   */
+  @Override
+  public boolean canAffect(Level level, boolean markerPresent) {
+    Level lowest = defaultThreshold;
+    Level highest = defaultThreshold;
+    for (Level threshold : valueLevelMap.values()) {
+      if (!threshold.isGreaterOrEqual(lowest)) {
+        lowest = threshold;
+      }
+      if (threshold.isGreaterOrEqual(highest)) {
+        highest = threshold;
+      }
+    }
+    if (onHigherOrEqual != FilterReply.NEUTRAL && level.isGreaterOrEqual(lowest)) {
+      return true;
+    }
+    return onLower != FilterReply.NEUTRAL && !level.isGreaterOrEqual(highest);
+  }
+
   /**
    * This method first finds the MDC value for 'key'. It then finds the level
    * threshold associated with this MDC value from the list of MDCValueLevelPair
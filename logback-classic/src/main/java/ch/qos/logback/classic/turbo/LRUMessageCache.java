@@ -13,54 +13,138 @@
  */
 package ch.qos.logback.classic.turbo;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Clients of this class should only use the  {@link #getMessageCountAndThenIncrement} method. Other methods inherited
- * via LinkedHashMap are not thread safe.
+ * A bounded cache counting the occurrences of messages, safe for use by
+ * concurrent threads.
+ *
+ * <p>Looking up a message already in the cache takes no lock: entries are
+ * found in a {@link ConcurrentHashMap} and carry their own atomic counter.
+ * Only the insertion of a new message is serialized. When the cache is full,
+ * the entry to evict is chosen by the CLOCK algorithm, an approximation of
+ * least-recently-used eviction where entries accessed since the hand last
+ * passed over them are given a second chance.
+ *
+ * <p>If a reset period is given, the count of a message restarts from zero
+ * once the period has elapsed since the message was first counted.
  */
-class LRUMessageCache extends LinkedHashMap<String, Integer> {
+class LRUMessageCache {
 
-  private static final long serialVersionUID = 1L;
   final int cacheSize;
+  final long resetPeriod;
+
+  final ConcurrentMap<String, Entry> map;
+
+  // guarded by this
+  final Entry[] ring;
+  int size = 0;
+  int hand = 0;
 
   LRUMessageCache(int cacheSize) {
-    super((int) (cacheSize * (4.0f / 3)), 0.75f, true);
+    this(cacheSize, 0);
+  }
+
+  /**
+   * @param cacheSize the maximum number of messages held in the cache
+   * @param resetPeriod the period in milliseconds after which counts restart
+   *          from zero, disabled if zero or negative
+   */
+  LRUMessageCache(int cacheSize, long resetPeriod) {
     if (cacheSize < 1) {
       throw new IllegalArgumentException("Cache size cannot be smaller than 1");
     }
     this.cacheSize = cacheSize;
+    this.resetPeriod = resetPeriod;
+    this.map = new ConcurrentHashMap<String, Entry>((int) (cacheSize * (4.0f / 3)));
+    this.ring = new Entry[cacheSize];
   }
 
   int getMessageCountAndThenIncrement(String msg) {
+    long now = resetPeriod > 0 ? System.currentTimeMillis() : 0;
+    return getMessageCountAndThenIncrement(msg, now);
+  }
+
+  int getMessageCountAndThenIncrement(String msg, long now) {
     // don't insert null elements
     if (msg == null) {
       return 0;
     }
 
-    Integer i;
-    // LinkedHashMap is not LinkedHashMap. See also LBCLASSIC-255
-    synchronized (this) {
-      i = super.get(msg);
-      if (i == null) {
-        i = 0;
-      } else {
-        i = i + 1;
+    Entry entry = map.get(msg);
+    if (entry == null) {
+      entry = insertIfAbsent(msg, now);
+    } else if (!entry.referenced) {
+      // only write when needed so that frequent messages do not keep
+      // invalidating the cache line holding the entry
+      entry.referenced = true;
+    }
+    return entry.getCountAndThenIncrement(now, resetPeriod);
+  }
+
+  private synchronized Entry insertIfAbsent(String msg, long now) {
+    Entry entry = map.get(msg);
+    if (entry != null) {
+      return entry;
+    }
+    entry = new Entry(msg, now);
+    if (size < cacheSize) {
+      ring[size++] = entry;
+    } else {
+      // advance the hand, clearing reference bits, until an entry which was
+      // not accessed since the previous pass is found
+      while (ring[hand].referenced) {
+        ring[hand].referenced = false;
+        hand = (hand + 1) % cacheSize;
       }
-      super.put(msg, i);
+      map.remove(ring[hand].msg);
+      ring[hand] = entry;
+      hand = (hand + 1) % cacheSize;
     }
-    return i;
+    map.put(msg, entry);
+    return entry;
   }
 
-  // called indirectly by get() or put() which are already supposed to be
-  // called from within a synchronized block
-  protected boolean removeEldestEntry(Map.Entry eldest) {
-    return (size() > cacheSize);
+  synchronized void clear() {
+    map.clear();
+    Arrays.fill(ring, null);
+    size = 0;
+    hand = 0;
   }
 
-  @Override
-  synchronized public void clear() {
-    super.clear();
+  static class Entry {
+    final String msg;
+    final AtomicInteger count = new AtomicInteger();
+    final AtomicLong periodStart;
+    volatile boolean referenced;
+
+    Entry(String msg, long now) {
+      this.msg = msg;
+      this.periodStart = new AtomicLong(now);
+    }
+
+    int getCountAndThenIncrement(long now, long resetPeriod) {
+      if (resetPeriod > 0) {
+        long start = periodStart.get();
+        // the first thread to notice the end of the period resets the count
+        if (now - start >= resetPeriod && periodStart.compareAndSet(start, now)) {
+          count.set(0);
+        }
+      }
+      while (true) {
+        int c = count.get();
+        // saturate instead of overflowing to negative counts
+        if (c == Integer.MAX_VALUE) {
+          return c;
+        }
+        if (count.compareAndSet(c, c + 1)) {
+          return c;
+        }
+      }
+    }
   }
 }
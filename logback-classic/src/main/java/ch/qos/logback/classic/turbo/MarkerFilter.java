@@ -54,6 +54,14 @@ public class MarkerFilter extends MatchingFilter {
     }
   }
 
+  /**
+   * Calls without a marker always mismatch.
+   */
+  @Override
+  public boolean canAffect(Level level, boolean markerPresent) {
+    return markerPresent || onMismatch != FilterReply.NEUTRAL;
+  }
+
   /**
    * The marker to match in the event.
    * 
@@ -54,6 +54,9 @@ public class ReconfigureOnChangeFilter extends TurboFilter {
 
   ConfigurationWatchList configurationWatchList;
 
+  boolean backgroundScan = false;
+  private ScanningThread scanningThread;
+
   @Override
   public void start() {
     configurationWatchList = ConfigurationWatchListUtil.getConfigurationWatchList(context);
@@ -71,11 +74,29 @@ public class ReconfigureOnChangeFilter extends TurboFilter {
         updateNextCheck(System.currentTimeMillis());
       }
       super.start();
+      if (backgroundScan) {
+        addInfo("Scanning in a background thread");
+        scanningThread = new ScanningThread();
+        scanningThread.setDaemon(true);
+        scanningThread.setName("logback-configuration-scanner-" + context.getName());
+        scanningThread.start();
+      }
     } else {
       addWarn("Empty ConfigurationWatchList in context");
     }
   }
 
+  @Override
+  public void stop() {
+    super.stop();
+    // the scanning thread is not joined as this method may be invoked by the
+    // reconfiguration it triggered
+    if (scanningThread != null) {
+      scanningThread.interrupt();
+      scanningThread = null;
+    }
+  }
+
   @Override
   public String toString() {
     return "ReconfigureOnChangeFilter{" +
@@ -95,10 +116,18 @@ public class ReconfigureOnChangeFilter extends TurboFilter {
   private volatile long lastMaskCheck = System.currentTimeMillis();
 
 
+  /**
+   * Logging calls are not needed when scanning in the background.
+   */
+  @Override
+  public boolean canAffect(Level level, boolean markerPresent) {
+    return !backgroundScan;
+  }
+
   @Override
   public FilterReply decide(Marker marker, Logger logger, Level level,
                             String format, Object[] params, Throwable t) {
-    if (!isStarted()) {
+    if (!isStarted() || backgroundScan) {
       return FilterReply.NEUTRAL;
     }
 
@@ -182,6 +211,41 @@ public class ReconfigureOnChangeFilter extends TurboFilter {
     this.refreshPeriod = refreshPeriod;
   }
 
+  public boolean isBackgroundScan() {
+    return backgroundScan;
+  }
+
+  /**
+   * When true, changes are detected by a dedicated thread scanning the watched
+   * files once every refresh period instead of by logging calls. In that case,
+   * this filter need not, and should not, be attached to the context as a turbo
+   * filter, but merely registered with it so as to be stopped on reset.
+   *
+   * @since 1.1.3
+   */
+  public void setBackgroundScan(boolean backgroundScan) {
+    this.backgroundScan = backgroundScan;
+  }
+
+  class ScanningThread extends Thread {
+    public void run() {
+      while (isStarted()) {
+        try {
+          Thread.sleep(refreshPeriod);
+        } catch (InterruptedException e) {
+          return;
+        }
+        synchronized (configurationWatchList) {
+          if (isStarted() && configurationWatchList.changeDetected()) {
+            disableSubsequentReconfiguration();
+            detachReconfigurationToNewThread();
+            return;
+          }
+        }
+      }
+    }
+  }
+
   class ReconfiguringThread implements Runnable {
     public void run() {
       if (mainConfigurationURL == null) {
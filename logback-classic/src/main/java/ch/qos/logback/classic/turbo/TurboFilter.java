@@ -53,6 +53,24 @@ public abstract class TurboFilter extends ContextAwareBase implements LifeCycle
   public abstract FilterReply decide(Marker marker, Logger logger,
       Level level, String format, Object[] params, Throwable t);
 
+  /**
+   * Tells whether this filter can reply anything but
+   * <code>{@link FilterReply#NEUTRAL}</code>, or otherwise needs to see, logging
+   * calls made at the given level with or without a marker. Filters are not
+   * invoked for calls they declare they cannot affect.
+   *
+   * <p>The answer may only depend on the configuration of this filter, which
+   * is queried when it is added to the logger context. The default
+   * implementation returns true.
+   *
+   * @param level the level of the logging call
+   * @param markerPresent whether the logging call carries a marker
+   * @since 1.1.3
+   */
+  public boolean canAffect(Level level, boolean markerPresent) {
+    return true;
+  }
+
   public void start() {
     this.start = true;
   }
@@ -15,6 +15,7 @@ package ch.qos.logback.classic;
 
 import ch.qos.logback.classic.net.testObjectBuilders.LoggingEventBuilderInContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
 import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import ch.qos.logback.core.read.ListAppender;
 import ch.qos.logback.core.status.OnConsoleStatusListener;
@@ -23,6 +24,10 @@ import org.junit.Before;
 import org.junit.Test;
 import org.slf4j.MDC;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
 import static org.junit.Assert.*;
 
 /**
@@ -91,4 +96,36 @@ public class AsyncAppenderTest {
     StackTraceElement ste = e.getCallerData()[0];
     assertEquals(thisClassName, ste.getClassName());
   }
+
+  @Test
+  public void droppedEventsAreCountedPerLevel() {
+    Logger logger = context.getLogger(thisClassName);
+    asyncAppender.eventDropped(new LoggingEvent(thisClassName, logger, Level.DEBUG, "a", null, null));
+    asyncAppender.eventDropped(new LoggingEvent(thisClassName, logger, Level.DEBUG, "b", null, null));
+    asyncAppender.eventDropped(new LoggingEvent(thisClassName, logger, Level.ERROR, "c", null, null));
+
+    assertEquals(0, asyncAppender.getDroppedEventCount(Level.TRACE));
+    assertEquals(2, asyncAppender.getDroppedEventCount(Level.DEBUG));
+    assertEquals(0, asyncAppender.getDroppedEventCount(Level.INFO));
+    assertEquals(0, asyncAppender.getDroppedEventCount(Level.WARN));
+    assertEquals(1, asyncAppender.getDroppedEventCount(Level.ERROR));
+  }
+
+  @Test
+  public void statsMBeanIsRegisteredWhileStarted() throws Exception {
+    context.setName("context" + diff);
+    asyncAppender.setName("async");
+    asyncAppender.addAppender(listAppender);
+    asyncAppender.setRegisterMBean(true);
+    asyncAppender.start();
+
+    MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+    ObjectName objectName = new ObjectName("ch.qos.logback.classic:Name=context" + diff
+        + ",Type=" + AsyncAppender.class.getName() + ",Appender=async");
+    assertTrue(mbs.isRegistered(objectName));
+    assertEquals(0L, mbs.getAttribute(objectName, "DroppedEventCount"));
+
+    asyncAppender.stop();
+    assertFalse(mbs.isRegistered(objectName));
+  }
 }
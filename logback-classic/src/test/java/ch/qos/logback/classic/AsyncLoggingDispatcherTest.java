@@ -0,0 +1,178 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.AsyncOverflowPolicy;
+import ch.qos.logback.core.read.ListAppender;
+
+public class AsyncLoggingDispatcherTest {
+
+  LoggerContext context = new LoggerContext();
+  Logger logger = context.getLogger(AsyncLoggingDispatcherTest.class);
+  AsyncLoggingDispatcher asyncLogging = new AsyncLoggingDispatcher();
+  ListAppender<ILoggingEvent> listAppender = new ListAppender<ILoggingEvent>();
+
+  @Before
+  public void setUp() {
+    asyncLogging.setContext(context);
+    listAppender.setContext(context);
+    listAppender.start();
+    context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(listAppender);
+  }
+
+  @After
+  public void tearDown() {
+    MDC.clear();
+    context.stop();
+  }
+
+  @Test
+  public void requestsAreAppendedByTheWorkerWithTheCallingThreadData() {
+    asyncLogging.start();
+    context.setAsyncLogging(asyncLogging);
+    MDC.put("k", "v");
+    logger.info("hello {}", "world", new Exception("x"));
+    MDC.put("k", "v2");
+    asyncLogging.stop();
+
+    assertEquals(1, listAppender.list.size());
+    ILoggingEvent event = listAppender.list.get(0);
+    assertEquals("hello world", event.getFormattedMessage());
+    assertEquals("x", event.getThrowableProxy().getMessage());
+    assertEquals(Thread.currentThread().getName(), event.getThreadName());
+    assertEquals("v", event.getMDCPropertyMap().get("k"));
+    assertEquals(0, event.getCallerData().length);
+  }
+
+  @Test
+  public void requestsAreAppendedInOrder() {
+    asyncLogging.setRingSize(8);
+    asyncLogging.start();
+    context.setAsyncLogging(asyncLogging);
+    int len = 1000;
+    for (int i = 0; i < len; i++) {
+      logger.debug("{}", i);
+    }
+    asyncLogging.stop();
+
+    assertEquals(len, listAppender.list.size());
+    for (int i = 0; i < len; i++) {
+      assertEquals(String.valueOf(i), listAppender.list.get(i).getFormattedMessage());
+    }
+  }
+
+  @Test
+  public void callerDataIsExtractedByTheCallingThreadIfIncluded() {
+    asyncLogging.setIncludeCallerData(true);
+    asyncLogging.start();
+    context.setAsyncLogging(asyncLogging);
+    logger.debug("hello");
+    asyncLogging.stop();
+
+    assertEquals("callerDataIsExtractedByTheCallingThreadIfIncluded",
+        listAppender.list.get(0).getCallerData()[0].getMethodName());
+  }
+
+  @Test
+  public void requestsAreDroppedWhenTheRingBufferIsFull() throws InterruptedException {
+    final CountDownLatch entered = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    AppenderBase<ILoggingEvent> blockingAppender = new AppenderBase<ILoggingEvent>() {
+      @Override
+      protected void append(ILoggingEvent event) {
+        entered.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+    blockingAppender.setContext(context);
+    blockingAppender.start();
+    logger.addAppender(blockingAppender);
+
+    asyncLogging.setRingSize(2);
+    asyncLogging.setOverflowPolicy(AsyncOverflowPolicy.DROP_NEWEST);
+    asyncLogging.start();
+    context.setAsyncLogging(asyncLogging);
+
+    logger.debug("dispatched");
+    assertTrue(entered.await(5, TimeUnit.SECONDS));
+    logger.debug("queued");
+    logger.debug("queued too");
+    logger.debug("dropped");
+    release.countDown();
+    asyncLogging.stop();
+
+    assertEquals(1, asyncLogging.getDroppedRequestCount());
+    assertEquals(3, listAppender.list.size());
+    assertEquals("queued too", listAppender.list.get(2).getMessage());
+  }
+
+  @Test
+  public void requestsIssuedByAppendersAreProcessedSynchronously() {
+    final Logger other = context.getLogger("other");
+    AppenderBase<ILoggingEvent> loggingAppender = new AppenderBase<ILoggingEvent>() {
+      @Override
+      protected void append(ILoggingEvent event) {
+        other.debug("from appender");
+      }
+    };
+    loggingAppender.setContext(context);
+    loggingAppender.start();
+    logger.addAppender(loggingAppender);
+
+    asyncLogging.setRingSize(2);
+    asyncLogging.start();
+    context.setAsyncLogging(asyncLogging);
+    for (int i = 0; i < 10; i++) {
+      logger.debug("hello");
+    }
+    asyncLogging.stop();
+
+    assertEquals(20, listAppender.list.size());
+    // the request of the appender is appended first, before the request
+    // being dispatched reaches the list appender of the root logger
+    assertEquals("from appender", listAppender.list.get(0).getMessage());
+    assertEquals("hello", listAppender.list.get(1).getMessage());
+    assertEquals(Thread.currentThread().getName(), listAppender.list.get(1).getThreadName());
+  }
+
+  @Test
+  public void stoppedDispatcherLeavesLoggingSynchronous() {
+    asyncLogging.start();
+    context.setAsyncLogging(asyncLogging);
+    asyncLogging.stop();
+    logger.debug("hello");
+    assertEquals(1, listAppender.list.size());
+    assertSame(asyncLogging, context.getAsyncLogging());
+    assertFalse(asyncLogging.isStarted());
+  }
+}
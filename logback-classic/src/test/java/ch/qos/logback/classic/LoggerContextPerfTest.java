@@ -73,6 +73,47 @@ public class LoggerContextPerfTest {
     harness.printThroughput("getLogger performance: ", true);
   }
 
+  static int CREATING_THREAD_COUNT = 8;
+  static int LOGGERS_PER_THREAD = 5000;
+
+  @Test
+  public void durationOfConcurrentLoggerCreation() throws InterruptedException {
+    for (int i = 0; i < 5; i++) {
+      createLoggersConcurrently(new LoggerContext());
+    }
+    long duration = createLoggersConcurrently(new LoggerContext());
+    System.out.println("Creation of " + CREATING_THREAD_COUNT * LOGGERS_PER_THREAD
+        + " loggers by " + CREATING_THREAD_COUNT + " threads took " + duration / 1000 + " microseconds");
+  }
+
+  // Results computed on a single core x86_64 machine, JDK 17
+  // Creation of 40000 loggers by 8 threads took 13'880 microseconds
+  // before children were indexed in a ConcurrentHashMap and created without locking:
+  // Creation of 40000 loggers by 8 threads took 1'881'562 microseconds
+
+  long createLoggersConcurrently(final LoggerContext lc) throws InterruptedException {
+    Thread[] threads = new Thread[CREATING_THREAD_COUNT];
+    for (int t = 0; t < CREATING_THREAD_COUNT; t++) {
+      final int id = t;
+      threads[t] = new Thread() {
+        public void run() {
+          // all threads race on the children of a single logger
+          for (int i = 0; i < LOGGERS_PER_THREAD; i++) {
+            lc.getLogger("org.tenant.Class" + id + "_" + i);
+          }
+        }
+      };
+    }
+    long start = System.nanoTime();
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    return System.nanoTime() - start;
+  }
+
   private class GetLoggerRunnable extends RunnableWithCounterAndDone {
 
     final int burstLength = 3;
@@ -17,9 +17,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.concurrent.CyclicBarrier;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -43,6 +46,69 @@ public class LoggerContextTest {
     assertEquals(Level.DEBUG, root.getEffectiveLevel());
   }
 
+  @Test
+  public void concurrentCreationYieldsASingleInstancePerName() throws InterruptedException {
+    final int threadCount = 8;
+    final int len = 500;
+    final Logger[][] results = new Logger[threadCount][len];
+    final CyclicBarrier barrier = new CyclicBarrier(threadCount);
+    Thread[] threads = new Thread[threadCount];
+    for (int t = 0; t < threadCount; t++) {
+      final int id = t;
+      threads[t] = new Thread() {
+        public void run() {
+          try {
+            barrier.await();
+          } catch (Exception e) {
+            return;
+          }
+          for (int i = 0; i < len; i++) {
+            results[id][i] = lc.getLogger("a.b" + (i % 10) + ".c" + i);
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    for (int i = 0; i < len; i++) {
+      Logger logger = lc.getLogger("a.b" + (i % 10) + ".c" + i);
+      for (int t = 0; t < threadCount; t++) {
+        assertSame(logger, results[t][i]);
+      }
+      assertSame(lc.getLogger("a.b" + (i % 10)), lc.getLogger("a").getChildByName("a.b" + (i % 10)));
+    }
+    // root, a, a.b0 to a.b9 and the leaves
+    assertEquals(1 + 1 + 10 + len, lc.size());
+    assertEquals(1 + 1 + 10 + len, lc.getLoggerList().size());
+  }
+
+  @Test
+  public void childrenCreatedDuringALevelChangeInheritTheNewLevel() throws InterruptedException {
+    final Logger a = lc.getLogger("a");
+    final int len = 2000;
+    Thread creator = new Thread() {
+      public void run() {
+        for (int i = 0; i < len; i++) {
+          lc.getLogger("a.b" + i + ".c");
+        }
+      }
+    };
+    creator.start();
+    for (int i = 0; i < 100; i++) {
+      a.setLevel(i % 2 == 0 ? Level.INFO : Level.WARN);
+    }
+    a.setLevel(Level.ERROR);
+    creator.join();
+
+    for (int i = 0; i < len; i++) {
+      assertEquals(Level.ERROR, lc.getLogger("a.b" + i + ".c").getEffectiveLevel());
+      assertFalse(lc.getLogger("a.b" + i).isWarnEnabled());
+    }
+  }
+
   @Test
   public void testLoggerX() {
     Logger x = lc.getLogger("x");
@@ -15,6 +15,8 @@ package ch.qos.logback.classic;
 
 import static org.junit.Assert.assertTrue;
 
+import java.lang.management.ManagementFactory;
+
 import ch.qos.logback.core.testUtil.EnvUtilForTests;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -22,6 +24,7 @@ import org.junit.Test;
 import org.slf4j.helpers.BogoPerf;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
 import ch.qos.logback.classic.turbo.NOPTurboFilter;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.UnsynchronizedAppenderBase;
@@ -180,6 +183,67 @@ public class LoggerPerfTest {
 
   // ===========================================================================
 
+  @Test
+  public void allocationOfEnabledLog_2_Parameters() {
+    lbLogger.setLevel(Level.ALL);
+    // retaining the event prevents the JIT from eliminating its allocation
+    LastEventAppender appender = new LastEventAppender();
+    appender.start();
+    lbLogger.addAppender(appender);
+    final Object o1 = new Object();
+    final Object o2 = new Object();
+
+    long len = NORMAL_RUN_LENGTH;
+    for (int i = 0; i < 10; i++) {
+      allocatedBytesPerEnabledLog_2_Parameters(len, o1, o2);
+      allocatedBytesPerLoggingEvent(len, o1, o2);
+    }
+    double perLog = allocatedBytesPerEnabledLog_2_Parameters(len, o1, o2);
+    double perEvent = allocatedBytesPerLoggingEvent(len, o1, o2);
+    System.out.println("allocationOfEnabledLog_2_Parameters=" + perLog
+            + " bytes, of which LoggingEvent=" + perEvent + " bytes");
+    // nothing but the event is allocated, in particular no argument array
+    assertTrue(perLog <= perEvent + 1);
+  }
+
+  // JDK 17, x86_64, compressed oops
+  // allocationOfEnabledLog_2_Parameters=88.000816 bytes, of which LoggingEvent=88.000816 bytes
+  // before arguments were kept in fields, each call also allocated an Object[2] (24 bytes)
+
+  double allocatedBytesPerEnabledLog_2_Parameters(long len, Object o1, Object o2) {
+    long before = allocatedBytes();
+    for (long i = 0; i < len; i++) {
+      logger.debug("Toto {} {}", o1, o2);
+    }
+    return (double) (allocatedBytes() - before) / len;
+  }
+
+  volatile LoggingEvent lastEvent;
+
+  double allocatedBytesPerLoggingEvent(long len, Object o1, Object o2) {
+    long before = allocatedBytes();
+    for (long i = 0; i < len; i++) {
+      lastEvent = new LoggingEvent(Logger.FQCN, lbLogger, Level.DEBUG, "Toto {} {}", null, o1, o2);
+    }
+    return (double) (allocatedBytes() - before) / len;
+  }
+
+  static class LastEventAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+    volatile ILoggingEvent lastEvent;
+
+    @Override
+    protected void append(ILoggingEvent event) {
+      lastEvent = event;
+    }
+  }
+
+  static long allocatedBytes() {
+    com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  // ===========================================================================
+
   @Test
   public void testThreadedLogging() throws InterruptedException {
     SleepAppender<ILoggingEvent> appender = new SleepAppender<ILoggingEvent>();
@@ -16,16 +16,24 @@ package ch.qos.logback.classic;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Test;
 import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.read.ListAppender;
+import ch.qos.logback.core.spi.FilterReply;
 import ch.qos.logback.core.status.Status;
 
 public class LoggerTest {
@@ -72,6 +80,136 @@ public class LoggerTest {
     assertEquals(1, listAppender.list.size());
   }
 
+  @Test
+  public void appenderChangesAreSeenAfterDispatch() {
+    listAppender.start();
+    Logger child = lc.getLogger(LoggerTest.class.getName() + ".child");
+    child.debug("no appender yet");
+    assertEquals(0, listAppender.list.size());
+
+    root.addAppender(listAppender);
+    child.debug("inherited from root");
+    assertEquals(1, listAppender.list.size());
+
+    loggerTest.addAppender(listAppender);
+    child.debug("inherited twice");
+    assertEquals(3, listAppender.list.size());
+
+    loggerTest.setAdditive(false);
+    child.debug("additivity stops at parent");
+    assertEquals(4, listAppender.list.size());
+
+    loggerTest.detachAppender(listAppender);
+    child.debug("detached from parent");
+    assertEquals(4, listAppender.list.size());
+
+    loggerTest.setAdditive(true);
+    child.debug("additive again");
+    assertEquals(5, listAppender.list.size());
+  }
+
+  @Test
+  public void loggingEventsAreReusedWithSynchronousAppenders() {
+    lc.setReuseLoggingEvents(true);
+    RecordingAppender recordingAppender = new RecordingAppender();
+    recordingAppender.start();
+    root.addAppender(recordingAppender);
+
+    loggerTest.debug(MarkerFactory.getMarker("M"), "a {}", "x");
+    loggerTest.debug("b {} {}", "y", "z");
+    loggerTest.debug("c");
+
+    assertEquals(3, recordingAppender.events.size());
+    assertSame(recordingAppender.events.get(0), recordingAppender.events.get(1));
+    assertSame(recordingAppender.events.get(1), recordingAppender.events.get(2));
+    assertEquals("[a x, b y z, c]", recordingAppender.messages.toString());
+    assertEquals("[M, null, null]", recordingAppender.markers.toString());
+  }
+
+  @Test
+  public void eventRetainingAppendersDisableReuse() {
+    lc.setReuseLoggingEvents(true);
+    listAppender.start();
+    root.addAppender(listAppender);
+    loggerTest.debug("a {}", "x");
+    loggerTest.debug("b {}", "y");
+
+    assertEquals(2, listAppender.list.size());
+    assertNotSame(listAppender.list.get(0), listAppender.list.get(1));
+    assertEquals("a x", listAppender.list.get(0).getFormattedMessage());
+    assertEquals("b y", listAppender.list.get(1).getFormattedMessage());
+  }
+
+  @Test
+  public void loggingFromAnAppenderDoesNotReuseTheEventBeingAppended() {
+    lc.setReuseLoggingEvents(true);
+    final Logger other = lc.getLogger("other");
+    other.setAdditive(false);
+    RecordingAppender otherAppender = new RecordingAppender();
+    otherAppender.start();
+    other.addAppender(otherAppender);
+    RecordingAppender recordingAppender = new RecordingAppender() {
+      @Override
+      protected void append(ILoggingEvent event) {
+        other.debug("inner");
+        super.append(event);
+      }
+    };
+    recordingAppender.start();
+    loggerTest.addAppender(recordingAppender);
+    loggerTest.setAdditive(false);
+
+    loggerTest.debug("outer {}", "x");
+    assertEquals("[outer x]", recordingAppender.messages.toString());
+    assertEquals("[inner]", otherAppender.messages.toString());
+    assertNotSame(recordingAppender.events.get(0), otherAppender.events.get(0));
+  }
+
+  static class RecordingAppender extends AppenderBase<ILoggingEvent> {
+    List<ILoggingEvent> events = new ArrayList<ILoggingEvent>();
+    List<String> messages = new ArrayList<String>();
+    List<Marker> markers = new ArrayList<Marker>();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+      events.add(event);
+      messages.add(event.getFormattedMessage());
+      markers.add(event.getMarker());
+    }
+  }
+
+  @Test
+  public void levelChecksFollowLevelAndTurboFilterChanges() {
+    Logger child = lc.getLogger(LoggerTest.class.getName() + ".child");
+    loggerTest.setLevel(Level.INFO);
+    assertFalse(child.isDebugEnabled());
+    assertTrue(child.isInfoEnabled());
+
+    root.setLevel(Level.TRACE);
+    loggerTest.setLevel(null);
+    assertTrue(child.isTraceEnabled());
+
+    loggerTest.setLevel(Level.ERROR);
+    assertFalse(child.isWarnEnabled());
+    assertTrue(child.isErrorEnabled());
+
+    TurboFilter acceptAll = new TurboFilter() {
+      @Override
+      public FilterReply decide(Marker marker, Logger logger, Level level,
+          String format, Object[] params, Throwable t) {
+        return FilterReply.ACCEPT;
+      }
+    };
+    acceptAll.start();
+    lc.addTurboFilter(acceptAll);
+    assertTrue(child.isWarnEnabled());
+    // created after the filter was added
+    assertTrue(lc.getLogger(LoggerTest.class.getName() + ".child.grandChild").isDebugEnabled());
+
+    lc.getTurboFilterList().remove(acceptAll);
+    assertFalse(child.isWarnEnabled());
+  }
+
   @Test
   public void testRootLogger() {
     Logger logger = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
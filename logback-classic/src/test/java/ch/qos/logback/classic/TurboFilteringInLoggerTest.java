@@ -23,6 +23,8 @@ import org.junit.Test;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+import ch.qos.logback.classic.turbo.DynamicThresholdFilter;
+import ch.qos.logback.classic.turbo.MDCValueLevelPair;
 import ch.qos.logback.classic.turbo.MarkerFilter;
 import ch.qos.logback.classic.turbo.TurboFilter;
 import ch.qos.logback.core.spi.FilterReply;
@@ -156,6 +158,56 @@ public class TurboFilteringInLoggerTest  {
     assertFalse(logger.isDebugEnabled(blueMarker));
   }
 
+  @Test
+  public void filtersAreOnlyInvokedForCallsTheyCanAffect() {
+    CountingWarnFilter filter = new CountingWarnFilter();
+    filter.start();
+    context.addTurboFilter(filter);
+    logger.debug("skipped");
+    logger.info("skipped {}", 1);
+    assertFalse(logger.isTraceEnabled(blueMarker));
+    assertEquals(0, filter.count);
+    logger.warn("invoked");
+    logger.error("invoked {} {}", 1, 2);
+    assertEquals(2, filter.count);
+
+    context.getTurboFilterList().remove(filter);
+    logger.warn("no longer invoked");
+    assertEquals(2, filter.count);
+  }
+
+  @Test
+  public void markerFilterCannotAffectCallsWithoutMarker() {
+    MarkerFilter filter = new MarkerFilter();
+    filter.setMarker(BLUE);
+    filter.setOnMatch("DENY");
+    assertFalse(filter.canAffect(Level.INFO, false));
+    assertTrue(filter.canAffect(Level.INFO, true));
+    filter.setOnMismatch("ACCEPT");
+    assertTrue(filter.canAffect(Level.INFO, false));
+  }
+
+  @Test
+  public void dynamicThresholdFilterDeclaresAffectedLevels() {
+    DynamicThresholdFilter filter = new DynamicThresholdFilter();
+    filter.setKey("userId");
+    filter.setDefaultThreshold(Level.WARN);
+    MDCValueLevelPair pair = new MDCValueLevelPair();
+    pair.setValue("user1");
+    pair.setLevel(Level.DEBUG);
+    filter.addMDCValueLevelPair(pair);
+    // only calls below the highest threshold may be denied
+    assertTrue(filter.canAffect(Level.INFO, false));
+    assertFalse(filter.canAffect(Level.WARN, false));
+    assertFalse(filter.canAffect(Level.ERROR, false));
+    // calls at or above the lowest threshold may be accepted
+    filter.setOnHigherOrEqual(FilterReply.ACCEPT);
+    assertTrue(filter.canAffect(Level.DEBUG, false));
+    assertTrue(filter.canAffect(Level.ERROR, false));
+    filter.setOnLower(FilterReply.NEUTRAL);
+    assertFalse(filter.canAffect(Level.TRACE, false));
+  }
+
   @Test
   public void testLoggingContextReset() {
     addYesFilter();
@@ -180,4 +232,20 @@ class NoFilter extends TurboFilter {
       String format, Object[] params, Throwable t) {
     return FilterReply.DENY;
   }
-}
\ No newline at end of file
+}
+
+class CountingWarnFilter extends TurboFilter {
+  int count;
+
+  @Override
+  public boolean canAffect(Level level, boolean markerPresent) {
+    return level.isGreaterOrEqual(Level.WARN);
+  }
+
+  @Override
+  public FilterReply decide(Marker marker, Logger logger, Level level,
+      String format, Object[] params, Throwable t) {
+    count++;
+    return FilterReply.NEUTRAL;
+  }
+}
@@ -25,10 +25,12 @@ import ch.qos.logback.core.spi.ScanException;
 import ch.qos.logback.core.status.Status;
 import ch.qos.logback.core.testUtil.RandomUtil;
 import ch.qos.logback.core.util.CachingDateFormatter;
+import ch.qos.logback.core.util.WaitStrategy;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.slf4j.MDC;
 
+import ch.qos.logback.classic.AsyncLoggingDispatcher;
 import ch.qos.logback.classic.ClassicTestConstants;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
@@ -63,6 +65,25 @@ public class JoranConfiguratorTest {
     jc.doConfigure(file);
   }
 
+  @Test
+  public void asyncLogging() throws JoranException {
+    configure(ClassicTestConstants.JORAN_INPUT_PREFIX + "asyncLogging.xml");
+
+    AsyncLoggingDispatcher asyncLogging = loggerContext.getAsyncLogging();
+    assertNotNull(asyncLogging);
+    assertTrue(asyncLogging.isStarted());
+    assertEquals(64, asyncLogging.getRingSize());
+    assertEquals(WaitStrategy.YIELD, asyncLogging.getWaitStrategy());
+
+    ListAppender listAppender = (ListAppender) root.getAppender("LIST");
+    loggerContext.getLogger(this.getClass().getName()).debug("hello");
+    // pending requests are dispatched before the appenders are stopped
+    loggerContext.reset();
+    assertFalse(asyncLogging.isStarted());
+    assertNull(loggerContext.getAsyncLogging());
+    assertEquals(1, listAppender.list.size());
+  }
+
   @Test
   public void simpleList() throws JoranException {
     configure(ClassicTestConstants.JORAN_INPUT_PREFIX + "simpleList.xml");
@@ -384,4 +384,53 @@ public class ConverterTest {
     String result = converter.convert(event);
     assertEquals("v", result);
   }
+
+  @Test
+  public void formattingIsAppliedToAppendedOutputOnly() {
+    StringBuilder buf = new StringBuilder("prefix ");
+
+    ClassicConverter converter = new LevelConverter();
+    converter.setFormattingInfo(new FormatInfo(6, Integer.MAX_VALUE));
+    converter.write(buf, le);
+    assertEquals("prefix   INFO", buf.toString());
+
+    buf.setLength(0);
+    buf.append("prefix ");
+    converter = new LoggerConverter();
+    converter.setFormattingInfo(new FormatInfo(0, 6));
+    converter.write(buf, le);
+    assertEquals("prefix erTest", buf.toString());
+
+    buf.setLength(0);
+    buf.append("prefix ");
+    converter = new LoggerConverter();
+    converter.setFormattingInfo(new FormatInfo(0, 3, true, false));
+    converter.write(buf, le);
+    assertEquals("prefix ch.", buf.toString());
+  }
+
+  @Test
+  public void appendingConversionMatchesConvert() {
+    List<ClassicConverter> converterList = new ArrayList<ClassicConverter>();
+    for (String option : new String[] { "0", "5", "20", "200" }) {
+      ClassicConverter converter = new LoggerConverter();
+      List<String> ol = new ArrayList<String>();
+      ol.add(option);
+      converter.setOptionList(ol);
+      converter.start();
+      converterList.add(converter);
+    }
+    converterList.add(new LineOfCallerConverter());
+    converterList.add(new CallerDataConverter());
+    converterList.add(new MDCConverter());
+
+    MDC.put("k", "v");
+    ILoggingEvent event = makeLoggingEvent(null);
+    MDC.clear();
+    for (ClassicConverter converter : converterList) {
+      StringBuilder buf = new StringBuilder();
+      converter.convert(event, buf);
+      assertEquals(converter.convert(event), buf.toString());
+    }
+  }
 }
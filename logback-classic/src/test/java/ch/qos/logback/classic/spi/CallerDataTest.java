@@ -14,11 +14,18 @@
 package ch.qos.logback.classic.spi;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 
+import ch.qos.logback.classic.LoggerContext;
+
 public class CallerDataTest  {
 
 
@@ -45,4 +52,80 @@ public class CallerDataTest  {
     assertEquals(0, cda.length);
   }
   
+  @Test
+  public void providersAgreeWithStackTraceExtraction() {
+    List<CallerDataProvider> providers = new ArrayList<CallerDataProvider>();
+    providers.add(new ThrowableCallerDataProvider());
+    providers.add(CallerData.newDefaultProvider());
+    StackWalkerCallerDataProvider stackWalkerProvider = StackWalkerCallerDataProvider.newInstance();
+    if (stackWalkerProvider != null) {
+      providers.add(stackWalkerProvider);
+    }
+    DepthLimitedCallerDataProvider depthLimitedProvider = DepthLimitedCallerDataProvider.newInstance();
+    if (depthLimitedProvider != null) {
+      providers.add(depthLimitedProvider);
+    }
+
+    List<StackTraceElement[]> results = new ArrayList<StackTraceElement[]>();
+    for (CallerDataProvider provider : providers) {
+      results.add(Framework.log(provider, 3));
+    }
+    StackTraceElement[] expected = results.get(0);
+    assertEquals(3, expected.length);
+    assertEquals(CallerDataTest.class.getName(), expected[0].getClassName());
+    assertEquals("providersAgreeWithStackTraceExtraction", expected[0].getMethodName());
+    for (StackTraceElement[] cda : results) {
+      assertArrayEquals(expected, cda);
+    }
+  }
+
+  @Test
+  public void providersReturnAnEmptyArrayWithoutFrameworkFrames() {
+    StackWalkerCallerDataProvider stackWalkerProvider = StackWalkerCallerDataProvider.newInstance();
+    if (stackWalkerProvider != null) {
+      assertEquals(0, stackWalkerProvider.getCallerData("com.inexistent.foo", 10, null).length);
+    }
+    DepthLimitedCallerDataProvider depthLimitedProvider = DepthLimitedCallerDataProvider.newInstance();
+    if (depthLimitedProvider != null) {
+      assertEquals(0, depthLimitedProvider.getCallerData("com.inexistent.foo", 10, null).length);
+    }
+  }
+
+  @Test
+  public void stackWalkerProviderCachesCallSites() {
+    StackWalkerCallerDataProvider provider = StackWalkerCallerDataProvider.newInstance();
+    if (provider == null) {
+      return;
+    }
+    StackTraceElement[] first = null;
+    for (int i = 0; i < 2; i++) {
+      StackTraceElement[] cda = Framework.log(provider, 1);
+      if (first == null) {
+        first = cda;
+      } else {
+        assertSame(first[0], cda[0]);
+      }
+    }
+    assertTrue(provider.cachedCallSiteCount() > 0);
+  }
+
+  @Test
+  public void loggerContextResetClearsCallSiteCache() {
+    StackWalkerCallerDataProvider provider = StackWalkerCallerDataProvider.newInstance();
+    if (provider == null) {
+      return;
+    }
+    LoggerContext lc = new LoggerContext();
+    lc.setCallerDataProvider(provider);
+    Framework.log(provider, 1);
+    assertTrue(provider.cachedCallSiteCount() > 0);
+    lc.reset();
+    assertEquals(0, provider.cachedCallSiteCount());
+  }
+
+  static class Framework {
+    static StackTraceElement[] log(CallerDataProvider provider, int maxDepth) {
+      return provider.getCallerData(Framework.class.getName(), maxDepth, null);
+    }
+  }
 }
@@ -7,7 +7,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static junit.framework.Assert.assertNull;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class LoggingEventTest {
 
@@ -62,4 +64,31 @@ public class LoggingEventTest {
     assertNull(event.formattedMessage);
     assertEquals(message, event.getFormattedMessage());
   }
+
+  @Test
+  public void testInlineArguments() {
+    LoggingEvent event = new LoggingEvent("", logger, Level.INFO, "{}-{}", null, 12, 13);
+    assertEquals("12-13", event.getFormattedMessage());
+    assertArrayEquals(new Object[] {12, 13}, event.getArgumentArray());
+    // the array is built once
+    assertSame(event.getArgumentArray(), event.getArgumentArray());
+
+    event = new LoggingEvent("", logger, Level.INFO, "x={}", null, (Object) 12);
+    assertEquals("x=12", event.getFormattedMessage());
+    assertArrayEquals(new Object[] {12}, event.getArgumentArray());
+  }
+
+  @Test
+  public void testInlineArgumentsWithTrailingThrowable() {
+    Exception e = new Exception("test");
+    LoggingEvent event = new LoggingEvent("", logger, Level.INFO, "x={}", null, 12, e);
+    assertEquals("x=12", event.getFormattedMessage());
+    assertArrayEquals(new Object[] {12}, event.getArgumentArray());
+    assertEquals("test", event.getThrowableProxy().getMessage());
+
+    event = new LoggingEvent("", logger, Level.INFO, "failure", null, (Object) e);
+    assertEquals("failure", event.getFormattedMessage());
+    assertArrayEquals(new Object[0], event.getArgumentArray());
+    assertEquals("test", event.getThrowableProxy().getMessage());
+  }
 }
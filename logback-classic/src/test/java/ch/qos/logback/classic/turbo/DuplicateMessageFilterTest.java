@@ -18,6 +18,7 @@ import static org.junit.Assert.*;
 import org.junit.Test;
 
 import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.util.Duration;
 
 public class DuplicateMessageFilterTest {
 
@@ -86,4 +87,19 @@ public class DuplicateMessageFilterTest {
         null));
   }
 
+  @Test
+  public void countResetPeriod() throws InterruptedException {
+    DuplicateMessageFilter dmf = new DuplicateMessageFilter();
+    dmf.setAllowedRepetitions(0);
+    dmf.setCountResetPeriod(Duration.buildByMilliseconds(50));
+    dmf.start();
+    assertEquals(FilterReply.NEUTRAL, dmf.decide(null, null, null, "a", null,
+        null));
+    assertEquals(FilterReply.DENY, dmf.decide(null, null, null, "a", null,
+        null));
+    Thread.sleep(100);
+    assertEquals(FilterReply.NEUTRAL, dmf.decide(null, null, null, "a", null,
+        null));
+  }
+
 }
@@ -38,4 +38,37 @@ public class LRUMessageCacheTest {
     Assert.assertEquals(0, cache.getMessageCountAndThenIncrement("2"));
   }
 
+  @Test
+  public void countsRestartAfterResetPeriod() {
+    final LRUMessageCache cache = new LRUMessageCache(2, 100);
+    Assert.assertEquals(0, cache.getMessageCountAndThenIncrement("0", 1000));
+    Assert.assertEquals(1, cache.getMessageCountAndThenIncrement("0", 1050));
+    Assert.assertEquals(2, cache.getMessageCountAndThenIncrement("0", 1099));
+    // the period started with the first occurrence
+    Assert.assertEquals(0, cache.getMessageCountAndThenIncrement("0", 1100));
+    Assert.assertEquals(1, cache.getMessageCountAndThenIncrement("0", 1150));
+  }
+
+  @Test
+  public void concurrentIncrementsAreNotLost() throws InterruptedException {
+    final LRUMessageCache cache = new LRUMessageCache(4);
+    final int threadCount = 8;
+    final int incrementsPerThread = 10000;
+    Thread[] threads = new Thread[threadCount];
+    for (int i = 0; i < threadCount; i++) {
+      threads[i] = new Thread() {
+        public void run() {
+          for (int j = 0; j < incrementsPerThread; j++) {
+            cache.getMessageCountAndThenIncrement("x");
+          }
+        }
+      };
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertEquals(threadCount * incrementsPerThread, cache.getMessageCountAndThenIncrement("x"));
+  }
+
 }
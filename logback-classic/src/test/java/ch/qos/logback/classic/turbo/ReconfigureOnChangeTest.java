@@ -249,6 +249,31 @@ public class ReconfigureOnChangeTest {
   }
 
 
+  @Test(timeout = 4000L)
+  public void backgroundScan() throws IOException, JoranException, InterruptedException {
+    String path = CoreTestConstants.OUTPUT_DIR_PREFIX + "reconfigureOnChangeConfig_backgroundScan-" + diff + ".xml";
+    File topLevelFile = new File(path);
+    writeToFile(topLevelFile, "<configuration scan=\"true\" scanPeriod=\"50 millisecond\" backgroundScan=\"true\"><root level=\"ERROR\"/></configuration> ");
+    configure(topLevelFile);
+
+    // the logging path is left untouched
+    assertEquals(0, loggerContext.getTurboFilterList().size());
+
+    Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+    assertEquals(Level.ERROR, root.getLevel());
+    long lastModified = topLevelFile.lastModified();
+    writeToFile(topLevelFile, "<configuration scan=\"true\" scanPeriod=\"50 millisecond\" backgroundScan=\"true\"><root level=\"WARN\"/></configuration> ");
+    // make sure the change is visible regardless of timestamp granularity
+    topLevelFile.setLastModified(lastModified + 1000);
+
+    while (root.getLevel() != Level.WARN) {
+      Thread.sleep(10);
+    }
+    checker.assertContainsMatch(CoreConstants.RESET_MSG_PREFIX);
+    loggerContext.stop();
+  }
+
+
   // check for deadlocks
   @Test(timeout = 4000L)
   public void scan_LOGBACK_474() throws JoranException, IOException,
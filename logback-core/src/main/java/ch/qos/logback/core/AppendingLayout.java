@@ -0,0 +1,36 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+/**
+ * A {@link Layout} able to append the formatted representation of an event to
+ * a buffer supplied by the caller instead of returning a new String. Encoders
+ * use this interface to avoid allocating a String per event.
+ *
+ * @param <E>
+ *          event type
+ * @since 1.1.3
+ */
+public interface AppendingLayout<E> extends Layout<E> {
+
+  /**
+   * Append the formatted event to the buffer passed as parameter. The text
+   * appended must be identical to the String returned by
+   * {@link #doLayout(Object)} for the same event.
+   *
+   * @param event the event to format
+   * @param buf the buffer to append to
+   */
+  void doLayout(E event, StringBuilder buf);
+}
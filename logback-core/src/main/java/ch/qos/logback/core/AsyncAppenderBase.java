@@ -15,10 +15,16 @@ package ch.qos.logback.core;
 
 import ch.qos.logback.core.spi.AppenderAttachable;
 import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import ch.qos.logback.core.spi.EventRetaining;
+import ch.qos.logback.core.util.Duration;
+import ch.qos.logback.core.util.WaitStrategy;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This appender and derived classes, log events asynchronously.  In order to avoid loss of logging events, this
@@ -28,6 +34,17 @@ import java.util.concurrent.BlockingQueue;
  * This appender buffers events in a {@link BlockingQueue}. {@link Worker} thread created by this appender takes
  * events from the head of the queue, and dispatches them to the single appender attached to this appender.
  * <p/>
+ * <p>By default the queue is an {@link java.util.concurrent.ArrayBlockingQueue}. Setting the <b>queueType</b> property
+ * to {@link AsyncQueueType#RING_BUFFER} selects a lock-free ring buffer instead, in which case the <b>waitStrategy</b>
+ * property determines how producers and the worker wait on a full or empty queue.</p>
+ * <p/>
+ * <p>When <b>maxBatchSize</b> is greater than one, the worker drains up to that many events from the queue at once and
+ * hands them over to the attached appender in a single call if it implements {@link BatchAppender}.</p>
+ * <p/>
+ * <p>By default, logging threads block when the queue is full. The <b>overflowPolicy</b> property allows events to be
+ * dropped instead, see {@link AsyncOverflowPolicy}. Dropped and discarded events are counted, see
+ * {@link #getDroppedEventCount()}.</p>
+ * <p/>
  * <p>Please refer to the <a href="http://logback.qos.ch/manual/appenders.html#AsyncAppender">logback manual</a> for
  * further information about this appender.</p>
  *
@@ -36,7 +53,8 @@ import java.util.concurrent.BlockingQueue;
  * @author Torsten Juergeleit
  * @since 1.0.4
  */
-public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implements AppenderAttachable<E> {
+public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implements AppenderAttachable<E>,
+        EventRetaining {
 
   AppenderAttachableImpl<E> aai = new AppenderAttachableImpl<E>();
   BlockingQueue<E> blockingQueue;
@@ -47,6 +65,26 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
   public static final int DEFAULT_QUEUE_SIZE = 256;
   int queueSize = DEFAULT_QUEUE_SIZE;
 
+  /**
+   * The default maximum number of events handed over at once by the worker to the attached appender. The default
+   * value of 1 disables batching.
+   */
+  public static final int DEFAULT_MAX_BATCH_SIZE = 1;
+  int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+  /**
+   * The default time a logging thread may block on a full queue under the
+   * {@link AsyncOverflowPolicy#BLOCK_WITH_TIMEOUT} policy.
+   */
+  public static final int DEFAULT_OVERFLOW_TIMEOUT = 100;
+  AsyncOverflowPolicy overflowPolicy = AsyncOverflowPolicy.BLOCK;
+  Duration overflowTimeout = new Duration(DEFAULT_OVERFLOW_TIMEOUT);
+
+  final AtomicLong droppedEventCount = new AtomicLong();
+
+  AsyncQueueType queueType = AsyncQueueType.ARRAY_BLOCKING;
+  WaitStrategy waitStrategy = WaitStrategy.PARK;
+
   int appenderCount = 0;
 
   static final int UNDEFINED = -1;
@@ -86,6 +124,29 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
   protected void preprocess(E eventObject) {
   }
 
+  /**
+   * Invoked for each event which was dropped, either because the queue was full or because the event was
+   * discardable and the queue was nearly full. The base class does nothing but sub-classes may override this method,
+   * for example to keep finer grained statistics.
+   *
+   * @param eventObject the dropped event
+   * @since 1.1.3
+   */
+  protected void eventDropped(E eventObject) {
+  }
+
+  /**
+   * Create the queue holding events waiting to be dispatched by the worker thread. The base class's implementation
+   * creates a queue according to the <b>queueType</b> and <b>waitStrategy</b> properties. Sub-classes may override
+   * this method in order to supply a different queue. Note that the worker thread is the only consumer of the queue.
+   *
+   * @param capacity the capacity of the queue
+   * @return a new, empty queue
+   */
+  protected BlockingQueue<E> createQueue(int capacity) {
+    return queueType.newQueue(capacity, waitStrategy);
+  }
+
 
   @Override
   public void start() {
@@ -97,7 +158,19 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
       addError("Invalid queue size [" + queueSize + "]");
       return;
     }
-    blockingQueue = new ArrayBlockingQueue<E>(queueSize);
+    if (maxBatchSize < 1) {
+      addError("Invalid max batch size [" + maxBatchSize + "]");
+      return;
+    }
+    if (queueSize < 2 && queueType == AsyncQueueType.RING_BUFFER) {
+      addError("Queue type " + queueType + " requires a queue size of at least 2");
+      return;
+    }
+    if (overflowPolicy == AsyncOverflowPolicy.DROP_OLDEST && queueType == AsyncQueueType.RING_BUFFER) {
+      addError("Overflow policy " + overflowPolicy + " is not supported by queue type " + queueType);
+      return;
+    }
+    blockingQueue = createQueue(queueSize);
 
     if (discardingThreshold == UNDEFINED)
       discardingThreshold = queueSize / 5;
@@ -126,14 +199,19 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
       
       //check to see if the thread ended and if not add a warning message
       if(worker.isAlive()) {
-        addWarn("Max queue flush timeout (" + maxFlushTime + " ms) exceeded. Approximately " + blockingQueue.size() +
+        addWarn("Max queue flush timeout (" + maxFlushTime + " ms) exceeded. Approximately " + getRemainingEventCount() +
             " queued events were possibly discarded.");
       }else {
         addInfo("Queue flush finished successfully within timeout.");
       }
       
     } catch (InterruptedException e) {
-      addError("Failed to join worker thread. " + blockingQueue.size() + " queued events may be discarded.", e);
+      addError("Failed to join worker thread. " + getRemainingEventCount() + " queued events may be discarded.", e);
+    }
+
+    long dropped = droppedEventCount.get();
+    if (dropped > 0) {
+      addWarn(dropped + " events were dropped by this appender.");
     }
   }
 
@@ -141,6 +219,7 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
   @Override
   protected void append(E eventObject) {
     if (isQueueBelowDiscardingThreshold() && isDiscardable(eventObject)) {
+      drop(eventObject);
       return;
     }
     preprocess(eventObject);
@@ -153,9 +232,38 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
 
   private void put(E eventObject) {
     try {
-      blockingQueue.put(eventObject);
+      switch (overflowPolicy) {
+      case DROP_NEWEST:
+        if (!blockingQueue.offer(eventObject)) {
+          drop(eventObject);
+        }
+        break;
+      case DROP_OLDEST:
+        while (!blockingQueue.offer(eventObject)) {
+          E oldest = blockingQueue.poll();
+          if (oldest != null) {
+            drop(oldest);
+          }
+        }
+        break;
+      case BLOCK_WITH_TIMEOUT:
+        if (!blockingQueue.offer(eventObject, overflowTimeout.getMilliseconds(), TimeUnit.MILLISECONDS)) {
+          drop(eventObject);
+        }
+        break;
+      default:
+        blockingQueue.put(eventObject);
+      }
     } catch (InterruptedException e) {
+      drop(eventObject);
+    }
+  }
+
+  private void drop(E eventObject) {
+    if (droppedEventCount.incrementAndGet() == 1) {
+      addWarn("Dropping events, the queue of appender [" + name + "] is full or nearly full.");
     }
+    eventDropped(eventObject);
   }
 
   public int getQueueSize() {
@@ -166,6 +274,76 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
     this.queueSize = queueSize;
   }
 
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  /**
+   * The maximum number of events handed over at once to the attached appender.
+   *
+   * @param maxBatchSize
+   * @since 1.1.3
+   */
+  public void setMaxBatchSize(int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  public AsyncOverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  /**
+   * Determines what happens to incoming events when the queue is full. By default, logging threads block.
+   *
+   * @param overflowPolicy
+   * @since 1.1.3
+   */
+  public void setOverflowPolicy(AsyncOverflowPolicy overflowPolicy) {
+    this.overflowPolicy = overflowPolicy;
+  }
+
+  public Duration getOverflowTimeout() {
+    return overflowTimeout;
+  }
+
+  /**
+   * The maximum time a logging thread blocks on a full queue under the
+   * {@link AsyncOverflowPolicy#BLOCK_WITH_TIMEOUT} policy.
+   *
+   * @param overflowTimeout
+   * @since 1.1.3
+   */
+  public void setOverflowTimeout(Duration overflowTimeout) {
+    this.overflowTimeout = overflowTimeout;
+  }
+
+  /**
+   * Returns the number of events dropped since this appender was created, either because the queue was full or
+   * because they were discardable and the queue was nearly full.
+   *
+   * @return the number of dropped events
+   * @since 1.1.3
+   */
+  public long getDroppedEventCount() {
+    return droppedEventCount.get();
+  }
+
+  public AsyncQueueType getQueueType() {
+    return queueType;
+  }
+
+  public void setQueueType(AsyncQueueType queueType) {
+    this.queueType = queueType;
+  }
+
+  public WaitStrategy getWaitStrategy() {
+    return waitStrategy;
+  }
+
+  public void setWaitStrategy(WaitStrategy waitStrategy) {
+    this.waitStrategy = waitStrategy;
+  }
+
   public int getDiscardingThreshold() {
     return discardingThreshold;
   }
@@ -238,17 +416,29 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
     return aai.detachAppender(name);
   }
 
+  /**
+   * The number of events not yet handed over to the attached appenders, including events already removed from the
+   * queue by the worker as part of a batch.
+   */
+  int getRemainingEventCount() {
+    return blockingQueue.size() + worker.inFlightCount;
+  }
+
   class Worker extends Thread {
 
+    // number of events removed from the queue but not yet appended
+    volatile int inFlightCount = 0;
+
     public void run() {
       AsyncAppenderBase<E> parent = AsyncAppenderBase.this;
       AppenderAttachableImpl<E> aai = parent.aai;
+      List<E> batch = new ArrayList<E>(parent.maxBatchSize);
 
       // loop while the parent is started
       while (parent.isStarted()) {
         try {
           E e = parent.blockingQueue.take();
-          aai.appendLoopOnAppenders(e);
+          dispatch(e, batch);
         } catch (InterruptedException ie) {
           break;
         }
@@ -256,13 +446,38 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
 
       addInfo("Worker thread will flush remaining events before exiting. ");
 
-      for (E e : parent.blockingQueue) {
-        aai.appendLoopOnAppenders(e);
-        parent.blockingQueue.remove(e);
+      E e;
+      while ((e = parent.blockingQueue.poll()) != null) {
+        dispatch(e, batch);
       }
       
 
       aai.detachAndStopAllAppenders();
     }
+
+    /**
+     * Dispatch the event given as parameter, along with as many queued events as allowed by maxBatchSize.
+     */
+    private void dispatch(E first, List<E> batch) {
+      AsyncAppenderBase<E> parent = AsyncAppenderBase.this;
+      if (parent.maxBatchSize == 1) {
+        inFlightCount = 1;
+        try {
+          parent.aai.appendLoopOnAppenders(first);
+        } finally {
+          inFlightCount = 0;
+        }
+        return;
+      }
+      batch.add(first);
+      parent.blockingQueue.drainTo(batch, parent.maxBatchSize - 1);
+      inFlightCount = batch.size();
+      try {
+        parent.aai.appendLoopOnAppenders(batch);
+      } finally {
+        batch.clear();
+        inFlightCount = 0;
+      }
+    }
   }
 }
@@ -0,0 +1,46 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+/**
+ * Determines what {@link AsyncAppenderBase} does with an incoming event when
+ * its queue is full.
+ *
+ * @since 1.1.3
+ */
+public enum AsyncOverflowPolicy {
+
+  /**
+   * Block the logging thread until room becomes available in the queue.
+   */
+  BLOCK,
+
+  /**
+   * Drop the incoming event. The logging thread never blocks.
+   */
+  DROP_NEWEST,
+
+  /**
+   * Drop the oldest queued events until the incoming event fits in the queue.
+   * The logging thread never blocks. This policy cannot be combined with
+   * {@link AsyncQueueType#RING_BUFFER} which admits a single consumer.
+   */
+  DROP_OLDEST,
+
+  /**
+   * Block the logging thread for at most the configured overflow timeout and
+   * drop the incoming event if no room became available in the meantime.
+   */
+  BLOCK_WITH_TIMEOUT
+}
@@ -0,0 +1,50 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import ch.qos.logback.core.util.RingBufferBlockingQueue;
+import ch.qos.logback.core.util.WaitStrategy;
+
+/**
+ * The kind of queue used by {@link AsyncAppenderBase} to hand events over to
+ * its worker thread.
+ *
+ * @since 1.1.3
+ */
+public enum AsyncQueueType {
+
+  /**
+   * An {@link ArrayBlockingQueue} guarded by a single lock. The wait strategy
+   * is ignored.
+   */
+  ARRAY_BLOCKING {
+    <E> BlockingQueue<E> newQueue(int capacity, WaitStrategy waitStrategy) {
+      return new ArrayBlockingQueue<E>(capacity);
+    }
+  },
+
+  /**
+   * A pre-allocated, lock-free, multi-producer/single-consumer ring buffer.
+   */
+  RING_BUFFER {
+    <E> BlockingQueue<E> newQueue(int capacity, WaitStrategy waitStrategy) {
+      return new RingBufferBlockingQueue<E>(capacity, waitStrategy);
+    }
+  };
+
+  abstract <E> BlockingQueue<E> newQueue(int capacity, WaitStrategy waitStrategy);
+}
@@ -0,0 +1,38 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+import java.util.List;
+
+/**
+ * An {@link Appender} able to process several events in one invocation, for
+ * example by acquiring its locks and flushing its output once per batch
+ * instead of once per event.
+ *
+ * <p>Components dispatching events, such as {@link AsyncAppenderBase}, may
+ * hand over batches to appenders implementing this interface and fall back to
+ * {@link #doAppend(Object)} for other appenders.
+ *
+ * @since 1.1.3
+ */
+public interface BatchAppender<E> extends Appender<E> {
+
+  /**
+   * Append the events in the list, in order. Filters attached to the appender
+   * are applied to each event individually.
+   *
+   * @param eventList the events to append, never modified by the appender
+   */
+  void doAppend(List<E> eventList) throws LogbackException;
+}
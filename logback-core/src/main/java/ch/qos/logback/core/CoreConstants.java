@@ -167,6 +167,12 @@ public class CoreConstants {
    */
   public static final int SECONDS_TO_WAIT_FOR_COMPRESSION_JOBS = 30;
 
+  /**
+   * The key under which the compression executor shared by the rolling
+   * policies of a context is registered in the context.
+   */
+  public static final String COMPRESSION_EXECUTOR = "COMPRESSION_EXECUTOR";
+
   public static final String CONTEXT_SCOPE_VALUE = "context";
 
   public static final String RESET_MSG_PREFIX = "Will reset and reconfigure context ";
@@ -15,10 +15,17 @@ package ch.qos.logback.core;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.util.List;
 
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.recovery.OutputStreamWrapper;
 import ch.qos.logback.core.recovery.ResilientFileOutputStream;
+import ch.qos.logback.core.util.Duration;
+import ch.qos.logback.core.util.FileSize;
 import ch.qos.logback.core.util.FileUtil;
 
 /**
@@ -45,6 +52,31 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
 
   private boolean prudent = false;
 
+  private FileSize bufferSize = new FileSize(ResilientFileOutputStream.DEFAULT_BUFFER_SIZE);
+
+  private Duration flushInterval;
+
+  private boolean useFileChannel = false;
+
+  // direct buffer reused across the files opened by this appender, e.g. on rollover
+  private ByteBuffer channelBuffer;
+
+  private boolean memoryMapped = false;
+
+  private FileSize mappedRegionLength = new FileSize(DEFAULT_MAPPED_REGION_LENGTH);
+
+  private PeriodicFlusher periodicFlusher;
+
+  // the stream writing to the file, possibly wrapped by the output stream
+  private volatile OutputStream fileOutputStream;
+
+  /**
+   * The default length of the regions mapped in memory-mapped mode, 32 MB.
+   *
+   * @since 1.1.3
+   */
+  public static final long DEFAULT_MAPPED_REGION_LENGTH = 32 * 1024 * 1024L;
+
   /**
    * The <b>File</b> property takes a string value which should be the name of
    * the file to append to.
@@ -94,6 +126,26 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
    */
   public void start() {
     int errors = 0;
+    long bufferSizeInBytes = bufferSize.getSize();
+    if (bufferSizeInBytes < 1 || bufferSizeInBytes > Integer.MAX_VALUE) {
+      addError("Invalid buffer size [" + bufferSizeInBytes + "]");
+      return;
+    }
+    if (memoryMapped) {
+      long regionLengthInBytes = mappedRegionLength.getSize();
+      if (regionLengthInBytes < 1 || regionLengthInBytes > Integer.MAX_VALUE) {
+        addError("Invalid mapped region length [" + regionLengthInBytes + "]");
+        return;
+      }
+      if (prudent) {
+        addError("Memory-mapped mode is not supported in prudent mode. Aborting");
+        return;
+      }
+    }
+    if (prudent && flushInterval != null) {
+      addError("FlushInterval is not supported in prudent mode. Aborting");
+      return;
+    }
     if (getFile() != null) {
       addInfo("File property is set to [" + fileName + "]");
 
@@ -116,6 +168,55 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
     }
     if (errors == 0) {
       super.start();
+      if (isStarted() && flushInterval != null && flushInterval.getMilliseconds() > 0) {
+        startPeriodicFlush();
+      }
+    }
+  }
+
+  private void startPeriodicFlush() {
+    if (encoder instanceof LayoutWrappingEncoder) {
+      LayoutWrappingEncoder<E> lwe = (LayoutWrappingEncoder<E>) encoder;
+      if (lwe.isImmediateFlush()) {
+        addInfo("Setting \"ImmediateFlush\" to false on account of \"FlushInterval\"");
+        lwe.setImmediateFlush(false);
+      }
+    }
+    addInfo("Flushing output at most every " + flushInterval);
+    periodicFlusher = new PeriodicFlusher();
+    periodicFlusher.setDaemon(true);
+    periodicFlusher.setName("FileAppender-Flusher-" + getName());
+    periodicFlusher.start();
+  }
+
+  @Override
+  public void stop() {
+    if (periodicFlusher != null) {
+      periodicFlusher.interrupt();
+      try {
+        periodicFlusher.join();
+      } catch (InterruptedException e) {
+        addWarn("Interrupted while waiting for the flusher thread to finish", e);
+      }
+      periodicFlusher = null;
+    }
+    super.stop();
+  }
+
+  /**
+   * Flush the output stream while holding the lock.
+   */
+  void flushOutputStream() {
+    lock.lock();
+    try {
+      OutputStream os = getOutputStream();
+      if (os != null) {
+        os.flush();
+      }
+    } catch (IOException e) {
+      addError("Failed to flush output of appender named [" + name + "]", e);
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -145,15 +246,96 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
             + file.getAbsolutePath() + "]");
       }
 
-      ResilientFileOutputStream resilientFos = new ResilientFileOutputStream(
-          file, append);
+      if (memoryMapped) {
+        // release the current mapping before the file is possibly renamed
+        closeOutputStream();
+        setFileOutputStream(new MappedFileOutputStream(file, append,
+            (int) mappedRegionLength.getSize()));
+        return;
+      }
+
+      ResilientFileOutputStream resilientFos;
+      if (useFileChannel) {
+        // the buffer is shared with the current stream, if any, which must be closed first
+        closeOutputStream();
+        if (channelBuffer == null) {
+          channelBuffer = ByteBuffer.allocateDirect((int) bufferSize.getSize());
+        }
+        resilientFos = new ResilientFileOutputStream(file, append, channelBuffer);
+      } else {
+        resilientFos = new ResilientFileOutputStream(file, append,
+            (int) bufferSize.getSize());
+      }
       resilientFos.setContext(context);
+      try {
+        // the output is transformed below the recovery layer, so that a file
+        // reopened after an I/O failure gets a fresh transforming stream
+        resilientFos.setWrapper(new OutputStreamWrapper() {
+          public OutputStream wrap(OutputStream out) throws IOException {
+            return wrapFileOutputStream(out);
+          }
+        });
+      } catch (IOException e) {
+        resilientFos.close();
+        throw e;
+      }
+      fileOutputStream = resilientFos;
       setOutputStream(resilientFos);
     } finally {
       lock.unlock();
     }
   }
 
+  private void setFileOutputStream(OutputStream os) throws IOException {
+    OutputStream wrapped;
+    try {
+      wrapped = wrapFileOutputStream(os);
+    } catch (IOException e) {
+      os.close();
+      throw e;
+    }
+    fileOutputStream = os;
+    setOutputStream(wrapped);
+  }
+
+  /**
+   * Returns the stream events are encoded into, given the stream writing to
+   * the file. Subclasses may transform the output, e.g. compress it, by
+   * wrapping the given stream. Unless the file is memory-mapped, this method
+   * is invoked again whenever the file is reopened after an I/O failure. By
+   * default, the given stream is returned as is.
+   *
+   * @since 1.1.3
+   */
+  protected OutputStream wrapFileOutputStream(OutputStream fileOutputStream) throws IOException {
+    return fileOutputStream;
+  }
+
+  /**
+   * Returns the length of the file being written as tracked by the output
+   * stream of this appender, including bytes not yet flushed, or -1 if the
+   * length is not tracked. In prudent mode, other processes may write to the
+   * same file so that its length is never tracked.
+   *
+   * @since 1.1.3
+   */
+  public long getFileLength() {
+    if (prudent) {
+      return -1;
+    }
+    if (getOutputStream() == null) {
+      return -1;
+    }
+    OutputStream os = fileOutputStream;
+    if (os instanceof ResilientFileOutputStream) {
+      return ((ResilientFileOutputStream) os).getLength();
+    }
+    if (os instanceof MappedFileOutputStream) {
+      return ((MappedFileOutputStream) os).getLength();
+    }
+    return -1;
+  }
+
   /**
    * @see #setPrudent(boolean)
    * 
@@ -177,7 +359,98 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
     this.append = append;
   }
 
+  public FileSize getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * Sets the size of the buffer in front of the file. Larger buffers result in
+   * fewer but larger writes when immediate flushing is disabled. The default
+   * is 8 KB.
+   *
+   * @since 1.1.3
+   */
+  public void setBufferSize(FileSize bufferSize) {
+    this.bufferSize = bufferSize;
+  }
+
+  public boolean isUseFileChannel() {
+    return useFileChannel;
+  }
+
+  /**
+   * When true, encoded events are copied into a direct buffer reused for the
+   * lifetime of this appender and written to the file's channel, instead of
+   * going through a chain of output streams. Writes larger than the buffer
+   * are issued together with pending bytes as a single gathering write. The
+   * default is false.
+   *
+   * @since 1.1.3
+   */
+  public void setUseFileChannel(boolean useFileChannel) {
+    this.useFileChannel = useFileChannel;
+  }
+
+  public boolean isMemoryMapped() {
+    return memoryMapped;
+  }
+
+  /**
+   * When true, encoded events are copied into a region of the file mapped in
+   * memory, leaving write-back to the operating system. A new region is mapped
+   * whenever the current one is full, and the file is truncated to the length
+   * actually written when it is closed, for instance on rollover or when the
+   * appender is stopped. Should the JVM crash, the file may end with zero bytes.
+   * Takes precedence over {@link #setUseFileChannel(boolean) useFileChannel}
+   * and is incompatible with prudent mode. The default is false.
+   *
+   * @since 1.1.3
+   */
+  public void setMemoryMapped(boolean memoryMapped) {
+    this.memoryMapped = memoryMapped;
+  }
+
+  public FileSize getMappedRegionLength() {
+    return mappedRegionLength;
+  }
+
+  /**
+   * Sets the length of each region mapped in memory-mapped mode. The file
+   * grows by this amount each time a new region is mapped. The default is
+   * 32 MB.
+   *
+   * @since 1.1.3
+   */
+  public void setMappedRegionLength(FileSize mappedRegionLength) {
+    this.mappedRegionLength = mappedRegionLength;
+  }
+
+  public Duration getFlushInterval() {
+    return flushInterval;
+  }
+
+  /**
+   * When set, the output is no longer flushed after each event but at the
+   * given interval, or earlier whenever the buffer fills up. Immediate
+   * flushing of the encoder is turned off accordingly. Incompatible with
+   * prudent mode. Unset by default.
+   *
+   * @since 1.1.3
+   */
+  public void setFlushInterval(Duration flushInterval) {
+    this.flushInterval = flushInterval;
+  }
+
   private void safeWrite(E event) throws IOException {
+    safeWrite(event, null);
+  }
+
+  private void safeWriteBatch(List<E> eventList) throws IOException {
+    safeWrite(null, eventList);
+  }
+
+  // the file lock is taken once whether a single event or a batch is written
+  private void safeWrite(E event, List<E> eventList) throws IOException {
     ResilientFileOutputStream resilientFOS = (ResilientFileOutputStream) getOutputStream();
     FileChannel fileChannel = resilientFOS.getChannel();
     if (fileChannel == null) {
@@ -191,7 +464,11 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
       if (size != position) {
         fileChannel.position(size);
       }
-      super.writeOut(event);
+      if (eventList == null) {
+        super.writeOut(event);
+      } else {
+        super.writeOutBatch(eventList);
+      }
     } finally {
       if (fileLock != null) {
         fileLock.release();
@@ -207,4 +484,28 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
       super.writeOut(event);
     }
   }
+
+  @Override
+  protected void writeOutBatch(List<E> eventList) throws IOException {
+    if (prudent) {
+      safeWriteBatch(eventList);
+    } else {
+      super.writeOutBatch(eventList);
+    }
+  }
+
+  class PeriodicFlusher extends Thread {
+
+    public void run() {
+      long intervalInMillis = flushInterval.getMilliseconds();
+      while (isStarted()) {
+        try {
+          Thread.sleep(intervalInMillis);
+        } catch (InterruptedException e) {
+          break;
+        }
+        flushOutputStream();
+      }
+    }
+  }
 }
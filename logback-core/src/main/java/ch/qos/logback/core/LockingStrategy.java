@@ -0,0 +1,47 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+/**
+ * The way {@link OutputStreamAppender} serializes writes issued by concurrent
+ * threads.
+ *
+ * @since 1.1.3
+ */
+public enum LockingStrategy {
+
+  /**
+   * A fair lock, granted to waiting threads in arrival order. Contended
+   * appends incur a context switch on nearly every hand-off.
+   */
+  FAIR,
+
+  /**
+   * A non-fair lock which may be barged into by the thread releasing it,
+   * offering much higher throughput under contention.
+   */
+  NON_FAIR,
+
+  /**
+   * Events are queued before acquiring a non-fair lock and the thread holding
+   * the lock writes all queued events, including those of other threads, in
+   * a single batch. Threads whose event was already written merely acquire
+   * and release the lock.
+   */
+  COMBINING;
+
+  boolean isFair() {
+    return this == FAIR;
+  }
+}
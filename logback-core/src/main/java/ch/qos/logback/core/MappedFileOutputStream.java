@@ -0,0 +1,161 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An {@link OutputStream} writing into successive memory-mapped regions of a
+ * file. Writing back the mapped pages is left to the operating system, so that
+ * {@link #flush()} does nothing. On {@link #close()}, the current region is
+ * unmapped and the file is truncated to the number of bytes actually written.
+ *
+ * @since 1.1.3
+ */
+class MappedFileOutputStream extends OutputStream {
+
+  final RandomAccessFile randomAccessFile;
+  final FileChannel channel;
+  final int regionLength;
+
+  MappedByteBuffer region;
+  // offset in the file of the first byte of the current region
+  long regionOffset;
+  // bytes written into the file, read by size based triggers
+  private volatile long length;
+
+  MappedFileOutputStream(File file, boolean append, int regionLength) throws IOException {
+    this.regionLength = regionLength;
+    this.randomAccessFile = new RandomAccessFile(file, "rw");
+    this.channel = randomAccessFile.getChannel();
+    try {
+      long offset = 0;
+      if (append) {
+        offset = randomAccessFile.length();
+      } else {
+        randomAccessFile.setLength(0);
+      }
+      map(offset);
+      length = offset;
+    } catch (IOException e) {
+      randomAccessFile.close();
+      throw e;
+    }
+  }
+
+  private void map(long offset) throws IOException {
+    region = channel.map(FileChannel.MapMode.READ_WRITE, offset, regionLength);
+    regionOffset = offset;
+  }
+
+  private void remap() throws IOException {
+    long offset = regionOffset + region.position();
+    unmap(region);
+    region = null;
+    map(offset);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    ensureOpen();
+    if (!region.hasRemaining()) {
+      remap();
+    }
+    region.put((byte) b);
+    length++;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    ensureOpen();
+    while (len > 0) {
+      if (!region.hasRemaining()) {
+        remap();
+      }
+      int n = Math.min(len, region.remaining());
+      region.put(b, off, n);
+      off += n;
+      len -= n;
+    }
+    length = regionOffset + region.position();
+  }
+
+  long getLength() {
+    return length;
+  }
+
+  private void ensureOpen() throws IOException {
+    if (region == null) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  @Override
+  public void flush() {
+    // pages are written back by the operating system
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (region == null) {
+      return;
+    }
+    long length = regionOffset + region.position();
+    unmap(region);
+    region = null;
+    try {
+      randomAccessFile.setLength(length);
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  /**
+   * Release the mapping eagerly instead of waiting for the buffer to be garbage
+   * collected, which would prevent the file from being truncated or renamed on
+   * some platforms. There is no public API for this, so we try the internal
+   * cleaner of the running JVM and fall back to garbage collection.
+   */
+  static void unmap(MappedByteBuffer buffer) {
+    try {
+      // Java 9 and later
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", java.nio.ByteBuffer.class);
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      invokeCleaner.invoke(theUnsafe.get(null), buffer);
+      return;
+    } catch (Exception e) {
+      // not available
+    }
+    try {
+      // Java 8 and earlier
+      Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+      cleanerMethod.setAccessible(true);
+      Object cleaner = cleanerMethod.invoke(buffer);
+      if (cleaner != null) {
+        cleaner.getClass().getMethod("clean").invoke(cleaner);
+      }
+    } catch (Exception e) {
+      // leave it to the garbage collector
+    }
+  }
+}
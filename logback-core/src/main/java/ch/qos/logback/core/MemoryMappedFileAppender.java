@@ -0,0 +1,36 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+/**
+ * A {@link FileAppender} writing into regions of the file mapped in memory.
+ * Appending an event then amounts to copying its bytes into memory, while the
+ * operating system takes care of writing pages back to disk.
+ *
+ * <p>This appender is a shorthand for a <code>FileAppender</code> with the
+ * <b>MemoryMapped</b> property set to true. The same mode is available to
+ * {@link ch.qos.logback.core.rolling.RollingFileAppender}, where the mapping
+ * is released before each rollover and re-established on the new file.
+ *
+ * <p>For more information about this appender, please refer to the online
+ * manual at http://logback.qos.ch/manual/appenders.html#MemoryMappedFileAppender
+ *
+ * @since 1.1.3
+ */
+public class MemoryMappedFileAppender<E> extends FileAppender<E> {
+
+  public MemoryMappedFileAppender() {
+    setMemoryMapped(true);
+  }
+}
@@ -17,8 +17,12 @@ import static ch.qos.logback.core.CoreConstants.CODES_URL;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.locks.ReentrantLock;
 
+import ch.qos.logback.core.encoder.BatchEncoder;
 import ch.qos.logback.core.encoder.Encoder;
 import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
@@ -33,7 +37,8 @@ import ch.qos.logback.core.status.ErrorStatus;
  * 
  * @author Ceki G&uuml;lc&uuml;
  */
-public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
+public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E>
+    implements BatchAppender<E> {
 
   
   /**
@@ -45,7 +50,14 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
   /**
    * All synchronization in this class is done via the lock object.
    */
-  protected final ReentrantLock lock = new ReentrantLock(true);
+  protected ReentrantLock lock = new ReentrantLock(true);
+
+  private LockingStrategy lockingStrategy = LockingStrategy.FAIR;
+
+  // events waiting to be written by the current lock holder, used by the COMBINING strategy
+  private final ConcurrentLinkedQueue<E> combiningQueue = new ConcurrentLinkedQueue<E>();
+  // guarded by lock
+  private final List<E> combinedEventList = new ArrayList<E>();
 
   /**
    * This is the {@link OutputStream outputStream} where output will be written.
@@ -103,6 +115,15 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
     subAppend(eventObject);
   }
 
+  @Override
+  protected void appendBatch(List<E> eventList) {
+    if (!isStarted()) {
+      return;
+    }
+
+    subAppendBatch(eventList);
+  }
+
   /**
    * Stop this appender instance. The underlying stream or writer is also
    * closed.
@@ -113,6 +134,7 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
   public void stop() {
     lock.lock();
     try {
+      writeOutCombinedEvents();
       closeOutputStream();
       super.stop();
     } finally {
@@ -194,6 +216,24 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
     this.encoder.doEncode(event);
   }
 
+  /**
+   * Write out a batch of events. If the encoder is a {@link BatchEncoder}, the
+   * whole batch is handed over to it so that the output is flushed at most
+   * once. Otherwise, the encoder is invoked for each event.
+   *
+   * @since 1.1.3
+   */
+  @SuppressWarnings("unchecked")
+  protected void writeOutBatch(List<E> eventList) throws IOException {
+    if (this.encoder instanceof BatchEncoder) {
+      ((BatchEncoder<E>) this.encoder).doEncode(eventList);
+    } else {
+      for (E event : eventList) {
+        this.encoder.doEncode(event);
+      }
+    }
+  }
+
   /**
    * Actual writing occurs here.
    * <p>
@@ -211,6 +251,10 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
       if (event instanceof DeferredProcessingAware) {
         ((DeferredProcessingAware) event).prepareForDeferredProcessing();
       }
+      if (lockingStrategy == LockingStrategy.COMBINING) {
+        combiningWrite(event);
+        return;
+      }
       // the synchronization prevents the OutputStream from being closed while we
       // are writing. It also prevents multiple threads from entering the same
       // converter. Converters assume that they are in a synchronized block.
@@ -228,6 +272,98 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
     }
   }
 
+  /**
+   * Write a batch of events while holding the lock only once. Derived classes
+   * overriding {@link #subAppend(Object)} should override this method
+   * accordingly.
+   *
+   * @since 1.1.3
+   */
+  protected void subAppendBatch(List<E> eventList) {
+    if (!isStarted()) {
+      return;
+    }
+    try {
+      for (E event : eventList) {
+        // this step avoids LBCLASSIC-139
+        if (event instanceof DeferredProcessingAware) {
+          ((DeferredProcessingAware) event).prepareForDeferredProcessing();
+        }
+      }
+      lock.lock();
+      try {
+        writeOutBatch(eventList);
+      } finally {
+        lock.unlock();
+      }
+    } catch (IOException ioe) {
+      // as soon as an exception occurs, move to non-started state
+      // and add a single ErrorStatus to the SM.
+      this.started = false;
+      addStatus(new ErrorStatus("IO failure in appender", this, ioe));
+    }
+  }
+
+  /**
+   * Queue the event and write out all queued events once the lock is
+   * acquired. Threads whose event was already written by a previous lock
+   * holder find an empty queue and release the lock right away. The queue
+   * thus holds at most one event per appending thread and each event is
+   * written before the call appending it returns.
+   */
+  private void combiningWrite(E event) {
+    combiningQueue.offer(event);
+    lock.lock();
+    try {
+      writeOutCombinedEvents();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Write out the events queued by the COMBINING strategy. Must be invoked
+   * while holding the lock.
+   */
+  private void writeOutCombinedEvents() {
+    E event;
+    while ((event = combiningQueue.poll()) != null) {
+      combinedEventList.add(event);
+    }
+    if (combinedEventList.isEmpty()) {
+      return;
+    }
+    try {
+      if (isStarted()) {
+        writeOutBatch(combinedEventList);
+      }
+    } catch (IOException ioe) {
+      this.started = false;
+      addStatus(new ErrorStatus("IO failure in appender", this, ioe));
+    } finally {
+      combinedEventList.clear();
+    }
+  }
+
+  public LockingStrategy getLockingStrategy() {
+    return lockingStrategy;
+  }
+
+  /**
+   * Sets the strategy used to serialize writes. Can only be changed before
+   * this appender is started. The default is {@link LockingStrategy#FAIR}.
+   *
+   * @since 1.1.3
+   */
+  public void setLockingStrategy(LockingStrategy lockingStrategy) {
+    if (isStarted()) {
+      addWarn("The locking strategy of a started appender cannot be changed.");
+      return;
+    }
+    this.lockingStrategy = lockingStrategy;
+    this.lock = new ReentrantLock(lockingStrategy.isFair());
+  }
+
   public Encoder<E> getEncoder() {
     return encoder;
   }
@@ -71,12 +71,7 @@ abstract public class UnsynchronizedAppenderBase<E> extends ContextAwareBase imp
     try {
       guard.set(Boolean.TRUE);
 
-      if (!this.started) {
-        if (statusRepeatCount++ < ALLOWED_REPEATS) {
-          addStatus(new WarnStatus(
-              "Attempted to append to non started appender [" + name + "].",
-              this));
-        }
+      if (!isStartedOrWarn()) {
         return;
       }
 
@@ -88,9 +83,42 @@ abstract public class UnsynchronizedAppenderBase<E> extends ContextAwareBase imp
       this.append(eventObject);
 
     } catch (Exception e) {
-      if (exceptionCount++ < ALLOWED_REPEATS) {
-        addError("Appender [" + name + "] failed to append.", e);
+      reportAppendFailure(e);
+    } finally {
+      guard.set(Boolean.FALSE);
+    }
+  }
+
+  /**
+   * Append the events in the list, applying the filter chain to each event
+   * and handing the accepted events over to {@link #appendBatch(List)}.
+   * Derived appenders overriding {@link #appendBatch(List)} may implement
+   * {@link BatchAppender} so as to receive batches through this method.
+   *
+   * @since 1.1.3
+   */
+  public void doAppend(List<E> eventList) {
+    // WARNING: The guard check MUST be the first statement in the
+    // doAppend() method.
+
+    // prevent re-entry.
+    if (Boolean.TRUE.equals(guard.get())) {
+      return;
+    }
+
+    try {
+      guard.set(Boolean.TRUE);
+
+      if (!isStartedOrWarn()) {
+        return;
+      }
+
+      List<E> acceptedList = fai.getAcceptedEvents(eventList);
+      if (!acceptedList.isEmpty()) {
+        this.appendBatch(acceptedList);
       }
+    } catch (Exception e) {
+      reportAppendFailure(e);
     } finally {
       guard.set(Boolean.FALSE);
     }
@@ -98,6 +126,44 @@ abstract public class UnsynchronizedAppenderBase<E> extends ContextAwareBase imp
 
   abstract protected void append(E eventObject);
 
+  /**
+   * Append a batch of events which were accepted by the filter chain. The
+   * default implementation invokes {@link #append(Object)} for each event in
+   * turn, reporting a failure to append an event without affecting the other
+   * events. Derived appenders may override this method in order to amortize
+   * locking or I/O costs over the whole batch.
+   *
+   * @param eventList a non-empty list of events
+   * @since 1.1.3
+   */
+  protected void appendBatch(List<E> eventList) {
+    for (E eventObject : eventList) {
+      try {
+        append(eventObject);
+      } catch (Exception e) {
+        reportAppendFailure(e);
+      }
+    }
+  }
+
+  private boolean isStartedOrWarn() {
+    if (this.started) {
+      return true;
+    }
+    if (statusRepeatCount++ < ALLOWED_REPEATS) {
+      addStatus(new WarnStatus(
+          "Attempted to append to non started appender [" + name + "].",
+          this));
+    }
+    return false;
+  }
+
+  private void reportAppendFailure(Exception e) {
+    if (exceptionCount++ < ALLOWED_REPEATS) {
+      addError("Appender [" + name + "] failed to append.", e);
+    }
+  }
+
   /**
    * Set the name of this appender.
    */
@@ -0,0 +1,39 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.encoder;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * An {@link Encoder} able to encode several events in one invocation. Appenders
+ * processing events in batches use this interface, when available, so that the
+ * underlying {@link java.io.OutputStream} is flushed at most once per batch.
+ *
+ * @param <E>
+ *          event type
+ * @since 1.1.3
+ */
+public interface BatchEncoder<E> extends Encoder<E> {
+
+  /**
+   * Encode and write the events in the list, in order, to the appropriate
+   * {@link java.io.OutputStream}. If the encoder flushes its output, it should
+   * do so once, after the last event in the list.
+   * 
+   * @param eventList
+   * @throws IOException
+   */
+  void doEncode(List<E> eventList) throws IOException;
+}
@@ -16,12 +16,15 @@ package ch.qos.logback.core.encoder;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
 import java.nio.charset.Charset;
+import java.util.List;
 
+import ch.qos.logback.core.AppendingLayout;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.Layout;
 
-public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
+public class LayoutWrappingEncoder<E> extends EncoderBase<E> implements BatchEncoder<E> {
 
   protected Layout<E> layout;
 
@@ -36,6 +39,15 @@ public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
 
   private boolean immediateFlush = true;
 
+  // expected size, in characters, of a laid out event, used to size batch buffers
+  static final int BATCH_EVENT_SIZE_HINT = 128;
+
+  private boolean reuseBuffers = false;
+
+  // created on init() when reuseBuffers is set
+  private TextEncodingBuffer textEncodingBuffer;
+  // set on init() when reuseBuffers is set and the layout can append safely
+  private AppendingLayout<E> appendingLayout;
 
   /**
    * Sets the immediateFlush option. The default value for immediateFlush is 'true'. If set to true,
@@ -53,6 +65,24 @@ public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
     return immediateFlush;
   }
 
+  /**
+   * When set to true, events are laid out into a reusable buffer and encoded
+   * by a reusable {@link java.nio.charset.CharsetEncoder}, so that no String
+   * or byte array is allocated per event. Layouts implementing
+   * {@link AppendingLayout}, such as pattern layouts, write directly into the
+   * reusable buffer, unless a sub-class overrides {@link Layout#doLayout}
+   * without overriding the appending variant. The default value is 'false'.
+   *
+   * @since 1.1.3
+   */
+  public void setReuseBuffers(boolean reuseBuffers) {
+    this.reuseBuffers = reuseBuffers;
+  }
+
+  public boolean isReuseBuffers() {
+    return reuseBuffers;
+  }
+
 
   public Layout<E> getLayout() {
     return layout;
@@ -82,6 +112,11 @@ public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
 
   public void init(OutputStream os) throws IOException {
     super.init(os);
+    if (reuseBuffers && textEncodingBuffer == null) {
+      Charset effectiveCharset = (charset == null) ? Charset.defaultCharset() : charset;
+      textEncodingBuffer = new TextEncodingBuffer(effectiveCharset);
+      appendingLayout = asAppendingLayout(layout);
+    }
     writeHeader();
   }
 
@@ -131,8 +166,76 @@ public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
   }
 
   public void doEncode(E event) throws IOException {
-    String txt = layout.doLayout(event);
-    outputStream.write(convertToBytes(txt));
+    if (textEncodingBuffer != null) {
+      layoutInto(event, textEncodingBuffer.getTextBuffer());
+      textEncodingBuffer.writeTo(outputStream);
+    } else {
+      String txt = layout.doLayout(event);
+      outputStream.write(convertToBytes(txt));
+    }
+    if (immediateFlush)
+      outputStream.flush();
+  }
+
+  private void layoutInto(E event, StringBuilder buf) {
+    if (appendingLayout != null) {
+      appendingLayout.doLayout(event, buf);
+    } else {
+      buf.append(layout.doLayout(event));
+    }
+  }
+
+  /**
+   * Returns the layout as an {@link AppendingLayout}, or null if it does not
+   * implement that interface or if <code>doLayout(E)</code> is overridden in
+   * a sub-class of the class implementing <code>doLayout(E, StringBuilder)</code>,
+   * in which case the appending variant would bypass the override.
+   */
+  @SuppressWarnings("unchecked")
+  static <E> AppendingLayout<E> asAppendingLayout(Layout<E> layout) {
+    if (!(layout instanceof AppendingLayout)) {
+      return null;
+    }
+    Class<?> stringLayoutClass = findDeclaringClass(layout.getClass(), 1);
+    Class<?> appendingLayoutClass = findDeclaringClass(layout.getClass(), 2);
+    if (stringLayoutClass == null || appendingLayoutClass == null
+        || !stringLayoutClass.isAssignableFrom(appendingLayoutClass)) {
+      return null;
+    }
+    return (AppendingLayout<E>) layout;
+  }
+
+  // the most derived class declaring a doLayout method with the given number of parameters
+  private static Class<?> findDeclaringClass(Class<?> clazz, int parameterCount) {
+    for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+      for (Method m : c.getDeclaredMethods()) {
+        if (m.getName().equals("doLayout") && !m.isBridge()
+            && m.getParameterTypes().length == parameterCount) {
+          return c;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Lays out all the events of the list into a single buffer which is then
+   * written with one call to the underlying {@link OutputStream}.
+   */
+  public void doEncode(List<E> eventList) throws IOException {
+    if (textEncodingBuffer != null) {
+      StringBuilder buf = textEncodingBuffer.getTextBuffer();
+      for (E event : eventList) {
+        layoutInto(event, buf);
+      }
+      textEncodingBuffer.writeTo(outputStream);
+    } else {
+      StringBuilder sb = new StringBuilder(eventList.size() * BATCH_EVENT_SIZE_HINT);
+      for (E event : eventList) {
+        sb.append(layout.doLayout(event));
+      }
+      outputStream.write(convertToBytes(sb.toString()));
+    }
     if (immediateFlush)
       outputStream.flush();
   }
@@ -0,0 +1,106 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.encoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Holds the buffers needed to lay out events as text and encode the text into
+ * bytes without allocating memory in the steady state. Text is accumulated in
+ * a reusable {@link StringBuilder}, copied into a reusable char array and
+ * encoded by a reusable {@link CharsetEncoder} into a reusable
+ * {@link ByteBuffer}.
+ *
+ * <p>Instances are not thread-safe. They are meant to be owned by an encoder
+ * whose methods are invoked while the owning appender holds its lock.
+ *
+ * @since 1.1.3
+ */
+class TextEncodingBuffer {
+
+  static final int INITIAL_CHAR_CAPACITY = 256;
+  static final int BYTE_BUFFER_SIZE = 8192;
+
+  /**
+   * Buffers which grew beyond this number of characters, e.g. because of a
+   * very large stack trace, are released after use.
+   */
+  static final int MAX_RETAINED_CHAR_CAPACITY = 64 * 1024;
+
+  final CharsetEncoder charsetEncoder;
+  final ByteBuffer byteBuffer = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+
+  StringBuilder textBuffer = new StringBuilder(INITIAL_CHAR_CAPACITY);
+  char[] charArray = new char[INITIAL_CHAR_CAPACITY];
+  CharBuffer charBuffer = CharBuffer.wrap(charArray);
+
+  TextEncodingBuffer(Charset charset) {
+    // replace malformed or unmappable input, as String.getBytes() does
+    this.charsetEncoder = charset.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+
+  /**
+   * Returns the text buffer, emptied.
+   */
+  StringBuilder getTextBuffer() {
+    textBuffer.setLength(0);
+    return textBuffer;
+  }
+
+  /**
+   * Encode the current content of the text buffer and write the resulting
+   * bytes to the output stream passed as parameter.
+   */
+  void writeTo(OutputStream os) throws IOException {
+    int length = textBuffer.length();
+    if (charArray.length < length) {
+      charArray = new char[Math.max(length, 2 * charArray.length)];
+      charBuffer = CharBuffer.wrap(charArray);
+    }
+    textBuffer.getChars(0, length, charArray, 0);
+    charBuffer.clear();
+    charBuffer.limit(length);
+
+    charsetEncoder.reset();
+    byteBuffer.clear();
+    while (charsetEncoder.encode(charBuffer, byteBuffer, true).isOverflow()) {
+      drainTo(os);
+    }
+    while (charsetEncoder.flush(byteBuffer).isOverflow()) {
+      drainTo(os);
+    }
+    drainTo(os);
+
+    if (length > MAX_RETAINED_CHAR_CAPACITY) {
+      textBuffer = new StringBuilder(INITIAL_CHAR_CAPACITY);
+      charArray = new char[INITIAL_CHAR_CAPACITY];
+      charBuffer = CharBuffer.wrap(charArray);
+    }
+  }
+
+  private void drainTo(OutputStream os) throws IOException {
+    if (byteBuffer.position() > 0) {
+      os.write(byteBuffer.array(), byteBuffer.arrayOffset(), byteBuffer.position());
+      byteBuffer.clear();
+    }
+  }
+}
@@ -29,6 +29,7 @@ import java.util.concurrent.TimeUnit;
 import javax.net.SocketFactory;
 
 import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.spi.EventRetaining;
 import ch.qos.logback.core.spi.PreSerializationTransformer;
 import ch.qos.logback.core.util.CloseUtil;
 import ch.qos.logback.core.util.Duration;
@@ -44,7 +45,7 @@ import ch.qos.logback.core.util.Duration;
  */
 
 public abstract class AbstractSocketAppender<E> extends AppenderBase<E>
-    implements SocketConnector.ExceptionHandler {
+    implements SocketConnector.ExceptionHandler, EventRetaining {
 
   /**
    * The default port number of remote logging server (4560).
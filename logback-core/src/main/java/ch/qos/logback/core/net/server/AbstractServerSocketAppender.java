@@ -25,6 +25,7 @@ import javax.net.ServerSocketFactory;
 import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.net.AbstractSocketAppender;
 import ch.qos.logback.core.spi.PreSerializationTransformer;
+import ch.qos.logback.core.spi.EventRetaining;
 
 /**
  * 
@@ -33,7 +34,8 @@ import ch.qos.logback.core.spi.PreSerializationTransformer;
  * 
  * @author Carl Harris
  */
-public abstract class AbstractServerSocketAppender<E> extends AppenderBase<E> {
+public abstract class AbstractServerSocketAppender<E> extends AppenderBase<E>
+    implements EventRetaining {
 
   /**
    * Default {@link ServerSocket} backlog
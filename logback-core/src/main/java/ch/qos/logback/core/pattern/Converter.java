@@ -31,6 +31,20 @@ abstract public class Converter<E> {
    */
   public abstract String convert(E event);
 
+  /**
+   * Append the data extracted from the event to the buffer passed as parameter.
+   * The default implementation appends the value returned by
+   * {@link #convert(Object)}. Converters which can append their output without
+   * creating an intermediate String should override this method.
+   *
+   * @param event The event from where data is extracted
+   * @param buf The buffer where data is appended
+   * @since 1.1.3
+   */
+  public void convert(E event, StringBuilder buf) {
+    buf.append(convert(event));
+  }
+
   /**
    * In its simplest incarnation, a convert simply appends the data extracted from
    * the event to the buffer passed as parameter.
@@ -39,7 +53,7 @@ abstract public class Converter<E> {
    * @param event The event from where data is extracted
    */
   public void write(StringBuilder buf, E event) {
-    buf.append(convert(event));
+    convert(event, buf);
   }
   
   public final void setNext(Converter<E> next) {
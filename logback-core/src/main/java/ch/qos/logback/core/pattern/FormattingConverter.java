@@ -32,41 +32,45 @@ abstract public class FormattingConverter<E> extends Converter<E> {
     this.formattingInfo = formattingInfo;
   }
 
+  /**
+   * Appends the value returned by {@link #convert(Object)}, unless it is null
+   * and a minimum width applies, in which case only padding is written.
+   */
   @Override
-  final public void write(StringBuilder buf, E event) {
+  public void convert(E event, StringBuilder buf) {
     String s = convert(event);
-    
-    if(formattingInfo == null) {
+    if (s != null || formattingInfo == null) {
       buf.append(s);
-      return;
     }
-    
-    int min = formattingInfo.getMin();
-    int max = formattingInfo.getMax();
-
+  }
 
-    if (s == null) {
-      if (0 < min)
-        SpacePadder.spacePad(buf, min);
+  @Override
+  final public void write(StringBuilder buf, E event) {
+    if (formattingInfo == null) {
+      convert(event, buf);
       return;
     }
 
-    int len = s.length();
+    int min = formattingInfo.getMin();
+    int max = formattingInfo.getMax();
+
+    // the converted value is appended in place and then truncated or padded
+    int start = buf.length();
+    convert(event, buf);
+    int len = buf.length() - start;
 
     if (len > max) {
-      if(formattingInfo.isLeftTruncate()) {
-        buf.append(s.substring(len - max));
+      if (formattingInfo.isLeftTruncate()) {
+        buf.delete(start, start + len - max);
       } else {
-        buf.append(s.substring(0, max));
+        buf.setLength(start + max);
       }
     } else if (len < min) {
       if (formattingInfo.isLeftPad()) {
-       SpacePadder.leftPad(buf, s, min);
+        SpacePadder.leftPad(buf, start, min);
       } else {
-        SpacePadder.rightPad(buf, s, min);
+        SpacePadder.spacePad(buf, min - len);
       }
-    } else {
-      buf.append(s);
     }
   }
 }
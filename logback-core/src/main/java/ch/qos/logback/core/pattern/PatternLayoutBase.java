@@ -114,12 +114,21 @@ abstract public class PatternLayoutBase<E> extends LayoutBase<E> {
 
   protected String writeLoopOnConverters(E event) {
     StringBuilder buf = new StringBuilder(128);
+    writeLoopOnConverters(event, buf);
+    return buf.toString();
+  }
+
+  /**
+   * Append the output of all converters to the buffer passed as parameter.
+   *
+   * @since 1.1.3
+   */
+  protected void writeLoopOnConverters(E event, StringBuilder buf) {
     Converter<E> c = head;
     while (c != null) {
       c.write(buf, event);
       c = c.getNext();
     }
-    return buf.toString();
   }
 
   public String getPattern() {
@@ -46,6 +46,29 @@ public class SpacePadder {
     }
   }
   
+  /**
+   * Pad on the left the characters appended to the buffer from the given
+   * start index onward so that they span at least desiredLength characters.
+   *
+   * @since 1.1.3
+   */
+  final static public void leftPad(StringBuilder buf, int start, int desiredLength) {
+    int length = desiredLength - (buf.length() - start);
+    if (length <= 0) {
+      return;
+    }
+    while (length >= 32) {
+      buf.insert(start, SPACES[5]);
+      length -= 32;
+    }
+
+    for (int i = 4; i >= 0; i--) {
+      if ((length & (1 << i)) != 0) {
+        buf.insert(start, SPACES[i]);
+      }
+    }
+  }
+
   /**
    * Fast space padding method.
    */
@@ -15,6 +15,7 @@ package ch.qos.logback.core.read;
 
 import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.helpers.CyclicBuffer;
+import ch.qos.logback.core.spi.EventRetaining;
 
 /**
  * CyclicBufferAppender stores events in a cyclic buffer of user-specified size. As the 
@@ -23,7 +24,7 @@ import ch.qos.logback.core.helpers.CyclicBuffer;
  * 
  * @author Ceki Gulcu
  */
-public class CyclicBufferAppender<E> extends AppenderBase<E> {
+public class CyclicBufferAppender<E> extends AppenderBase<E> implements EventRetaining {
 
   CyclicBuffer<E> cb;
   int maxSize = 512;
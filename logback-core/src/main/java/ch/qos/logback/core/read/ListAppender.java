@@ -17,8 +17,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.spi.EventRetaining;
 
-public class ListAppender<E> extends AppenderBase<E> {
+public class ListAppender<E> extends AppenderBase<E> implements EventRetaining {
 
   public List<E> list = new ArrayList<E>();
   
@@ -0,0 +1,101 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.recovery;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An {@link OutputStream} accumulating bytes in a (typically direct)
+ * {@link ByteBuffer} and writing them to a {@link FileChannel}. Writes larger
+ * than the buffer are combined with any pending bytes into a single gathering
+ * write.
+ *
+ * <p>The buffer is not owned by this stream and can thus be reused once the
+ * stream is closed.
+ *
+ * @since 1.1.3
+ */
+class FileChannelOutputStream extends OutputStream {
+
+  final FileChannel channel;
+  final ByteBuffer buffer;
+
+  FileChannelOutputStream(FileChannel channel, ByteBuffer buffer) {
+    this.channel = channel;
+    this.buffer = buffer;
+    buffer.clear();
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    if (!buffer.hasRemaining()) {
+      writeBuffer();
+    }
+    buffer.put((byte) b);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    if (len <= buffer.remaining()) {
+      buffer.put(b, off, len);
+      return;
+    }
+    if (len < buffer.capacity()) {
+      writeBuffer();
+      buffer.put(b, off, len);
+      return;
+    }
+    // too large to be buffered, write pending bytes along with b at once
+    buffer.flip();
+    ByteBuffer[] sources = new ByteBuffer[] { buffer, ByteBuffer.wrap(b, off, len) };
+    try {
+      long remaining = buffer.remaining() + len;
+      while (remaining > 0) {
+        remaining -= channel.write(sources);
+      }
+    } finally {
+      buffer.clear();
+    }
+  }
+
+  private void writeBuffer() throws IOException {
+    buffer.flip();
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } finally {
+      buffer.clear();
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (buffer.position() > 0) {
+      writeBuffer();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,33 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.recovery;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Transforms the bytes written to a file, e.g. by compressing them.
+ * {@link ResilientFileOutputStream} asks for a new wrapping stream each time
+ * it opens the file, including when recovering from an I/O failure, so that
+ * no state is carried over from a stream which failed.
+ *
+ * @since 1.1.3
+ */
+public interface OutputStreamWrapper {
+
+  /**
+   * Returns a stream writing to <code>out</code>.
+   */
+  OutputStream wrap(OutputStream out) throws IOException;
+}
@@ -14,19 +14,61 @@
 package ch.qos.logback.core.recovery;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 
 public class ResilientFileOutputStream extends ResilientOutputStreamBase {
 
+  /**
+   * The default size of the buffer in front of the file, in bytes.
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
+
   private File file;
   private FileOutputStream fos;
+  private final int bufferSize;
+  // when non-null, bytes are written through the file channel using this buffer
+  private final ByteBuffer channelBuffer;
+  // bytes in the file, including those buffered, read by size based triggers
+  private volatile long length;
+  // when non-null, transforms the bytes before they reach the file
+  private OutputStreamWrapper wrapper;
 
 
   public ResilientFileOutputStream(File file, boolean append)
       throws FileNotFoundException {
+    this(file, append, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * @since 1.1.3
+   */
+  public ResilientFileOutputStream(File file, boolean append, int bufferSize)
+      throws FileNotFoundException {
     this.file = file;
+    this.bufferSize = bufferSize;
+    this.channelBuffer = null;
+    this.length = append ? file.length() : 0;
     fos = new FileOutputStream(file, append);
-    this.os = new BufferedOutputStream(fos);
+    this.os = new BufferedOutputStream(fos, bufferSize);
+    this.presumedClean = true;
+  }
+
+  /**
+   * Creates a stream which bypasses {@link BufferedOutputStream} and writes to
+   * the file's channel through the buffer given as parameter, usually a direct
+   * {@link ByteBuffer}. The buffer may be reused once this stream is closed.
+   *
+   * @since 1.1.3
+   */
+  public ResilientFileOutputStream(File file, boolean append, ByteBuffer channelBuffer)
+      throws FileNotFoundException {
+    this.file = file;
+    this.bufferSize = channelBuffer.capacity();
+    this.channelBuffer = channelBuffer;
+    this.length = append ? file.length() : 0;
+    fos = new FileOutputStream(file, append);
+    this.os = new FileChannelOutputStream(fos.getChannel(), channelBuffer);
     this.presumedClean = true;
   }
 
@@ -41,6 +83,47 @@ public class ResilientFileOutputStream extends ResilientOutputStreamBase {
     return file;
   }
 
+  /**
+   * Transforms the bytes written through this stream, e.g. compresses them,
+   * before they reach the file. The wrapper is applied to the currently open
+   * file and asked again for a new stream whenever the file is reopened after
+   * an I/O failure. Bytes the failed stream held back, e.g. the end of a
+   * compressed block, are lost.
+   *
+   * @since 1.1.3
+   */
+  public void setWrapper(OutputStreamWrapper wrapper) throws IOException {
+    this.wrapper = wrapper;
+    this.os = wrap(os);
+  }
+
+  /**
+   * Returns the length of the file as written through this stream, including
+   * bytes buffered but not yet flushed. When a wrapper is set, the length
+   * counts the bytes produced by the wrapper. Bytes written to the file by other
+   * means are not accounted for.
+   *
+   * @since 1.1.3
+   */
+  public long getLength() {
+    return length;
+  }
+
+  @Override
+  void postBytesWritten(int len) {
+    // writes are serialized by the appender
+    if (wrapper == null) {
+      length += len;
+    }
+  }
+
+  private OutputStream wrap(OutputStream out) throws IOException {
+    if (wrapper == null) {
+      return out;
+    }
+    return wrapper.wrap(new LengthCountingOutputStream(out));
+  }
+
   @Override
   String getDescription() {
     return "file ["+file+"]";
@@ -50,7 +133,10 @@ public class ResilientFileOutputStream extends ResilientOutputStreamBase {
   OutputStream openNewOutputStream() throws IOException {
     // see LOGBACK-765
     fos = new FileOutputStream(file, true);
-    return new BufferedOutputStream(fos);
+    if (channelBuffer != null) {
+      return wrap(new FileChannelOutputStream(fos.getChannel(), channelBuffer));
+    }
+    return wrap(new BufferedOutputStream(fos, bufferSize));
   }
   
   @Override
@@ -59,4 +145,24 @@ public class ResilientFileOutputStream extends ResilientOutputStreamBase {
         + System.identityHashCode(this);
   }
 
+  // counts the bytes leaving the wrapper
+  private class LengthCountingOutputStream extends FilterOutputStream {
+
+    LengthCountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      length++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      length += len;
+    }
+  }
+
 }
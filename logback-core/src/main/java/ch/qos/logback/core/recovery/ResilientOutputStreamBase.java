@@ -50,6 +50,7 @@ abstract public class ResilientOutputStreamBase extends OutputStream {
 
     try {
       os.write(b, off, len);
+      postBytesWritten(len);
       postSuccessfulWrite();
     } catch (IOException e) {
       postIOFailure(e);
@@ -66,6 +67,7 @@ abstract public class ResilientOutputStreamBase extends OutputStream {
     }
     try {
       os.write(b);
+      postBytesWritten(1);
       postSuccessfulWrite();
     } catch (IOException e) {
       postIOFailure(e);
@@ -86,6 +88,13 @@ abstract public class ResilientOutputStreamBase extends OutputStream {
 
   abstract String getDescription();
 
+  /**
+   * Invoked after <code>len</code> bytes were successfully handed over to the
+   * underlying stream.
+   */
+  void postBytesWritten(int len) {
+  }
+
   abstract OutputStream openNewOutputStream() throws IOException;
 
   private void postSuccessfulWrite() {
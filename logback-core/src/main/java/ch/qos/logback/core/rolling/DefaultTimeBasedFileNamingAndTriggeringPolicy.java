@@ -25,7 +25,7 @@ import ch.qos.logback.core.rolling.helper.TimeBasedArchiveRemover;
  * @param <E>
  */
 public class DefaultTimeBasedFileNamingAndTriggeringPolicy<E> extends
-    TimeBasedFileNamingAndTriggeringPolicyBase<E> {
+    TimeBasedFileNamingAndTriggeringPolicyBase<E> implements LockFreeTriggeringPolicy<E> {
 
   @Override
   public void start() {
@@ -35,6 +35,10 @@ public class DefaultTimeBasedFileNamingAndTriggeringPolicy<E> extends
     started = true;
   }
 
+  public boolean mayTrigger(File activeFile, final E event) {
+    return getCurrentTime() >= nextCheck;
+  }
+
   public boolean isTriggeringEvent(File activeFile, final E event) {
     long time = getCurrentTime();
     if (time >= nextCheck) {
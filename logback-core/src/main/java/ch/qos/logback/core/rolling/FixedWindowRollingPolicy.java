@@ -99,8 +99,7 @@ public class FixedWindowRollingPolicy extends RollingPolicyBase {
       String zipEntryFileNamePatternStr = transformFileNamePatternFromInt2Date(fileNamePatternStr);
       zipEntryFileNamePattern = new FileNamePattern(zipEntryFileNamePatternStr, context);
     }
-    compressor = new Compressor(compressionMode);
-    compressor.setContext(this.context);
+    compressor = newCompressor();
     super.start();
   }
 
@@ -151,6 +150,8 @@ public class FixedWindowRollingPolicy extends RollingPolicyBase {
             .convertInt(minIndex));
         break;
       case GZ:
+      case ZSTD:
+      case LZ4:
         compressor.compress(getActiveFileName(), fileNamePattern.convertInt(minIndex), null);
         break;
       case ZIP:
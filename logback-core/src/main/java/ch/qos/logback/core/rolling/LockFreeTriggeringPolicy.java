@@ -0,0 +1,40 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling;
+
+import java.io.File;
+
+/**
+ * A {@link TriggeringPolicy} able to rule out, without locking, that an event
+ * triggers a roll-over. {@link RollingFileAppender} invokes
+ * {@link #isTriggeringEvent(File, Object)}, which may update the state of the
+ * policy and is therefore invoked under exclusion, only for the events for
+ * which {@link #mayTrigger(File, Object)} returned true.
+ *
+ * @since 1.1.3
+ */
+public interface LockFreeTriggeringPolicy<E> extends TriggeringPolicy<E> {
+
+  /**
+   * Returns false if the event certainly does not trigger a roll-over. This
+   * method is invoked concurrently by logging threads and must not require
+   * exclusion. A true result is confirmed, or not, by
+   * {@link #isTriggeringEvent(File, Object)}.
+   *
+   * @param activeFile A reference to the currently active log file.
+   * @param event A reference to the current event.
+   * @return false if no roll-over should occur.
+   */
+  boolean mayTrigger(final File activeFile, final E event);
+}
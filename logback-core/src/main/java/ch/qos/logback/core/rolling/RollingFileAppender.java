@@ -16,9 +16,12 @@ package ch.qos.logback.core.rolling;
 import ch.qos.logback.core.FileAppender;
 import ch.qos.logback.core.rolling.helper.CompressionMode;
 import ch.qos.logback.core.rolling.helper.FileNamePattern;
+import ch.qos.logback.core.util.Duration;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 
 import static ch.qos.logback.core.CoreConstants.CODES_URL;
 
@@ -34,7 +37,7 @@ import static ch.qos.logback.core.CoreConstants.CODES_URL;
  * @author Ceki G&uuml;lc&uuml;
  */
 public class RollingFileAppender<E> extends FileAppender<E> {
-  File currentlyActiveFile;
+  volatile File currentlyActiveFile;
   TriggeringPolicy<E> triggeringPolicy;
   RollingPolicy rollingPolicy;
 
@@ -42,6 +45,14 @@ public class RollingFileAppender<E> extends FileAppender<E> {
   static private String RFA_NO_RP_URL = CODES_URL + "#rfa_no_rp";
   static private String COLLISION_URL = CODES_URL + "#rfa_collision";
 
+  /**
+   * How often the output is flushed, and thus made readable, when the active
+   * file is compressed on write, unless a flush interval is set.
+   *
+   * @since 1.1.3
+   */
+  public static final Duration DEFAULT_COMPRESS_ON_WRITE_FLUSH_INTERVAL = Duration.buildBySeconds(1);
+
   public void start() {
     if (triggeringPolicy == null) {
       addWarn("No TriggeringPolicy was set for the RollingFileAppender named "
@@ -81,11 +92,33 @@ public class RollingFileAppender<E> extends FileAppender<E> {
       }
     }
 
+    if (isCompressOnWrite() && getFlushInterval() == null) {
+      addInfo("Setting \"FlushInterval\" to " + DEFAULT_COMPRESS_ON_WRITE_FLUSH_INTERVAL + " on account of compression on write");
+      setFlushInterval(DEFAULT_COMPRESS_ON_WRITE_FLUSH_INTERVAL);
+    }
+
+    if (triggeringPolicy instanceof SizeBasedTriggeringPolicy) {
+      ((SizeBasedTriggeringPolicy<E>) triggeringPolicy).setParent(this);
+    }
+
     currentlyActiveFile = new File(getFile());
     addInfo("Active log file name: " + getFile());
     super.start();
   }
 
+  private boolean isCompressOnWrite() {
+    return rollingPolicy instanceof TimeBasedRollingPolicy
+        && ((TimeBasedRollingPolicy<?>) rollingPolicy).isCompressOnWrite();
+  }
+
+  @Override
+  protected OutputStream wrapFileOutputStream(OutputStream fileOutputStream) throws IOException {
+    if (rollingPolicy instanceof TimeBasedRollingPolicy) {
+      return ((TimeBasedRollingPolicy<?>) rollingPolicy).wrapFileOutputStream(fileOutputStream);
+    }
+    return fileOutputStream;
+  }
+
   private boolean fileAndPatternCollide() {
     if (triggeringPolicy instanceof RollingPolicyBase) {
       final RollingPolicyBase base = (RollingPolicyBase) triggeringPolicy;
@@ -172,16 +205,56 @@ public class RollingFileAppender<E> extends FileAppender<E> {
     // only correct behavior for time driven triggers.
 
     // We need to synchronize on triggeringPolicy so that only one rollover
-    // occurs at a time
-    synchronized (triggeringPolicy) {
-      if (triggeringPolicy.isTriggeringEvent(currentlyActiveFile, event)) {
-        rollover();
+    // occurs at a time, but only for events which may trigger one
+    if (mayTrigger(event)) {
+      synchronized (triggeringPolicy) {
+        if (triggeringPolicy.isTriggeringEvent(currentlyActiveFile, event)) {
+          rollover();
+        }
       }
     }
 
     super.subAppend(event);
   }
 
+  /**
+   * Rules out, without locking, events which cannot trigger a roll-over.
+   */
+  @SuppressWarnings("unchecked")
+  private boolean mayTrigger(E event) {
+    if (triggeringPolicy instanceof LockFreeTriggeringPolicy) {
+      return ((LockFreeTriggeringPolicy<E>) triggeringPolicy).mayTrigger(currentlyActiveFile, event);
+    }
+    return true;
+  }
+
+  /**
+   * The roll-over check is performed for each event of the batch. Events
+   * preceding a triggering event are written out before the roll-over occurs.
+   */
+  @Override
+  protected void subAppendBatch(List<E> eventList) {
+    int start = 0;
+    int size = eventList.size();
+    for (int i = 0; i < size; i++) {
+      E event = eventList.get(i);
+      if (!mayTrigger(event)) {
+        continue;
+      }
+      synchronized (triggeringPolicy) {
+        if (triggeringPolicy.isTriggeringEvent(currentlyActiveFile, event)) {
+          if (i > start) {
+            super.subAppendBatch(eventList.subList(start, i));
+            start = i;
+          }
+          rollover();
+        }
+      }
+    }
+
+    super.subAppendBatch(eventList.subList(start, size));
+  }
+
   public RollingPolicy getRollingPolicy() {
     return rollingPolicy;
   }
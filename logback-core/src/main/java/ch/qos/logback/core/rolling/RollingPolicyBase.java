@@ -14,9 +14,12 @@
 package ch.qos.logback.core.rolling;
 
 import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.rolling.helper.CompressionCodec;
 import ch.qos.logback.core.rolling.helper.CompressionMode;
+import ch.qos.logback.core.rolling.helper.Compressor;
 import ch.qos.logback.core.rolling.helper.FileNamePattern;
 import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.util.FileSize;
 
 /**
  * Implements methods common to most, it not all, rolling policies. Currently
@@ -38,11 +41,19 @@ public abstract class RollingPolicyBase extends ContextAwareBase implements
   FileNamePattern zipEntryFileNamePattern;
   private boolean started;
 
+  String parallelCompressionThresholdAsString = Long.toString(Compressor.DEFAULT_PARALLEL_THRESHOLD);
+  FileSize parallelCompressionThreshold = new FileSize(Compressor.DEFAULT_PARALLEL_THRESHOLD);
+  int compressionLevel = CompressionCodec.DEFAULT_LEVEL;
+
   /**
    * Given the FileNamePattern string, this method determines the compression
    * mode depending on last letters of the fileNamePatternStr. Patterns ending
-   * with .gz imply GZIP compression, endings with '.zip' imply ZIP compression.
-   * Otherwise and by default, there is no compression.
+   * with .gz imply GZIP compression, endings with '.zip' imply ZIP compression,
+   * '.zst' Zstandard and '.lz4' LZ4 compression. Otherwise and by default,
+   * there is no compression.
+   *
+   * @throws IllegalStateException if the library required by the compression
+   *         mode is not on the class path
    * 
    */
   protected void determineCompressionMode() {
@@ -52,10 +63,23 @@ public abstract class RollingPolicyBase extends ContextAwareBase implements
     } else if (fileNamePatternStr.endsWith(".zip")) {
       addInfo("Will use zip compression");
       compressionMode = CompressionMode.ZIP;
+    } else if (fileNamePatternStr.endsWith(".zst")) {
+      addInfo("Will use zstd compression");
+      compressionMode = CompressionMode.ZSTD;
+    } else if (fileNamePatternStr.endsWith(".lz4")) {
+      addInfo("Will use lz4 compression");
+      compressionMode = CompressionMode.LZ4;
     } else {
       addInfo("No compression will be used");
       compressionMode = CompressionMode.NONE;
     }
+    CompressionCodec codec = compressionMode.getCodec();
+    if (codec != null && !codec.isAvailable()) {
+      String msg = compressionMode + " compression requires " + codec.getLibraryName()
+          + " on the class path.";
+      addError(msg);
+      throw new IllegalStateException(msg);
+    }
   }
 
   public void setFileNamePattern(String fnp) {
@@ -66,6 +90,47 @@ public abstract class RollingPolicyBase extends ContextAwareBase implements
     return fileNamePatternStr;
   }
 
+  /**
+   * Returns a compressor for the current compression mode.
+   */
+  protected Compressor newCompressor() {
+    Compressor compressor = new Compressor(compressionMode);
+    compressor.setContext(context);
+    compressor.setParallelThreshold(parallelCompressionThreshold.getSize());
+    compressor.setCompressionLevel(compressionLevel);
+    return compressor;
+  }
+
+  public String getParallelCompressionThreshold() {
+    return parallelCompressionThresholdAsString;
+  }
+
+  /**
+   * Sets the size from which archives are gzipped in parallel blocks, e.g.
+   * "64MB".
+   *
+   * @since 1.1.3
+   */
+  public void setParallelCompressionThreshold(String parallelCompressionThreshold) {
+    this.parallelCompressionThresholdAsString = parallelCompressionThreshold;
+    this.parallelCompressionThreshold = FileSize.valueOf(parallelCompressionThreshold);
+  }
+
+  public int getCompressionLevel() {
+    return compressionLevel;
+  }
+
+  /**
+   * Sets the compression level, from 0 to 9 for gz and zip, 1 to 22 for zstd
+   * and 1 to 17 for lz4. By default, each compression mode uses its own
+   * default level.
+   *
+   * @since 1.1.3
+   */
+  public void setCompressionLevel(int compressionLevel) {
+    this.compressionLevel = compressionLevel;
+  }
+
   public CompressionMode getCompressionMode() {
     return compressionMode;
   }
@@ -93,4 +158,14 @@ public abstract class RollingPolicyBase extends ContextAwareBase implements
   public String getParentsRawFileProperty() {
     return parent.rawFileProperty();
   }
+
+  /**
+   * Returns the length of the file written by the parent appender, as tracked
+   * by the appender, or -1 if unknown.
+   *
+   * @since 1.1.3
+   */
+  public long getParentsFileLength() {
+    return parent == null ? -1 : parent.getFileLength();
+  }
 }
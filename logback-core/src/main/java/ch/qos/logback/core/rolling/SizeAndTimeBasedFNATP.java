@@ -15,6 +15,7 @@ package ch.qos.logback.core.rolling;
 
 import java.io.File;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import ch.qos.logback.core.joran.spi.NoAutoStart;
 import ch.qos.logback.core.rolling.helper.ArchiveRemover;
@@ -25,7 +26,7 @@ import ch.qos.logback.core.util.FileSize;
 
 @NoAutoStart
 public class SizeAndTimeBasedFNATP<E> extends
-        TimeBasedFileNamingAndTriggeringPolicyBase<E> {
+        TimeBasedFileNamingAndTriggeringPolicyBase<E> implements LockFreeTriggeringPolicy<E> {
 
   int currentPeriodsCounter = 0;
   FileSize maxFileSize;
@@ -77,12 +78,29 @@ public class SizeAndTimeBasedFNATP<E> extends
     }
   }
 
-  // IMPORTANT: This field can be updated by multiple threads. It follows that
-  // its values may *not* be incremented sequentially. However, we don't care
-  // about the actual value of the field except that from time to time the
-  // expression (invocationCounter++ & invocationMask) == invocationMask) should be true.
-  private int invocationCounter;
-  private int invocationMask = 0x1;
+  // updated concurrently by the logging threads invoking mayTrigger, without
+  // locking. The file size is checked whenever
+  // (invocationCounter & invocationMask) == invocationMask
+  private final AtomicInteger invocationCounter = new AtomicInteger();
+  private final AtomicInteger invocationMask = new AtomicInteger(0x1);
+
+  /**
+   * Unless the appender tracks the length of the active file, the file system
+   * is queried only every so often, as decided here. As mandated by
+   * {@link LockFreeTriggeringPolicy}, {@link #isTriggeringEvent(File, Object)}
+   * is invoked only when this method returns true and then checks the file
+   * size unconditionally.
+   */
+  public boolean mayTrigger(File activeFile, final E event) {
+    if (getCurrentTime() >= nextCheck) {
+      return true;
+    }
+    long length = tbrp.getParentsFileLength();
+    if (length >= 0) {
+      return length >= maxFileSize.getSize();
+    }
+    return !skipSizeCheck();
+  }
 
   public boolean isTriggeringEvent(File activeFile, final E event) {
 
@@ -97,15 +115,14 @@ public class SizeAndTimeBasedFNATP<E> extends
       return true;
     }
 
-    // for performance reasons, check for changes every 16,invocationMask invocations
-    if (((++invocationCounter) & invocationMask) != invocationMask) {
-      return false;
-    }
-    if (invocationMask < 0x0F) {
-      invocationMask = (invocationMask << 1) + 1;
+    // the length tracked by the appender is exact and cheap to obtain,
+    // whereas querying the file system is throttled by mayTrigger
+    long length = tbrp.getParentsFileLength();
+    if (length < 0) {
+      length = activeFile.length();
     }
 
-    if (activeFile.length() >= maxFileSize.getSize()) {
+    if (length >= maxFileSize.getSize()) {
       elapsedPeriodsFileName = tbrp.fileNamePatternWCS
               .convertMultipleArguments(dateInCurrentPeriod, currentPeriodsCounter);
       currentPeriodsCounter++;
@@ -115,6 +132,18 @@ public class SizeAndTimeBasedFNATP<E> extends
     return false;
   }
 
+  private boolean skipSizeCheck() {
+    // for performance reasons, check for changes every 16,invocationMask invocations
+    int mask = invocationMask.get();
+    if ((invocationCounter.incrementAndGet() & mask) != mask) {
+      return true;
+    }
+    if (mask < 0x0F) {
+      invocationMask.compareAndSet(mask, (mask << 1) + 1);
+    }
+    return false;
+  }
+
   private String getFileNameIncludingCompressionSuffix(Date date, int counter) {
     return tbrp.fileNamePattern.convertMultipleArguments(
             dateInCurrentPeriod, counter);
@@ -15,6 +15,7 @@ package ch.qos.logback.core.rolling;
 
 import java.io.File;
 
+import ch.qos.logback.core.FileAppender;
 import ch.qos.logback.core.util.FileSize;
 import ch.qos.logback.core.util.InvocationGate;
 
@@ -22,6 +23,10 @@ import ch.qos.logback.core.util.InvocationGate;
  * SizeBasedTriggeringPolicy looks at size of the file being currently written
  * to. If it grows bigger than the specified size, the FileAppender using the
  * SizeBasedTriggeringPolicy rolls the file and creates a new one.
+ * <p/>
+ * The size of the file is the number of bytes written to it as tracked by the
+ * parent appender, if available. Otherwise, the file system is queried every
+ * so often.
  * 
  * For more information about this policy, please refer to the online manual at
  * http://logback.qos.ch/manual/appenders.html#SizeBasedTriggeringPolicy
@@ -29,7 +34,7 @@ import ch.qos.logback.core.util.InvocationGate;
  * @author Ceki G&uuml;lc&uuml;
  * 
  */
-public class SizeBasedTriggeringPolicy<E> extends TriggeringPolicyBase<E> {
+public class SizeBasedTriggeringPolicy<E> extends TriggeringPolicyBase<E> implements LockFreeTriggeringPolicy<E> {
 
   public static final String SEE_SIZE_FORMAT = "http://logback.qos.ch/codes.html#sbtp_size_format";
   /**
@@ -49,7 +54,19 @@ public class SizeBasedTriggeringPolicy<E> extends TriggeringPolicyBase<E> {
 
   private InvocationGate invocationGate = new InvocationGate();
 
+  private FileAppender<?> parent;
+
+  public boolean mayTrigger(final File activeFile, final E event) {
+    long length = getParentsFileLength();
+    return length < 0 || length >= maxFileSize.getSize();
+  }
+
   public boolean isTriggeringEvent(final File activeFile, final E event) {
+    long length = getParentsFileLength();
+    if (length >= 0) {
+      return length >= maxFileSize.getSize();
+    }
+
   if(invocationGate.skipFurtherWork())
       return false;
 
@@ -59,6 +76,21 @@ public class SizeBasedTriggeringPolicy<E> extends TriggeringPolicyBase<E> {
     return (activeFile.length() >= maxFileSize.getSize());
   }
 
+  private long getParentsFileLength() {
+    FileAppender<?> fileAppender = parent;
+    return fileAppender == null ? -1 : fileAppender.getFileLength();
+  }
+
+  /**
+   * Sets the appender writing the file whose size is checked. Set by
+   * {@link RollingFileAppender} on start.
+   *
+   * @since 1.1.3
+   */
+  public void setParent(FileAppender<?> appender) {
+    this.parent = appender;
+  }
+
   public String getMaxFileSize() {
     return maxFileSizeAsString;
   }
@@ -33,7 +33,8 @@ abstract public class TimeBasedFileNamingAndTriggeringPolicyBase<E> extends
   protected long artificialCurrentTime = -1;
   protected Date dateInCurrentPeriod = null;
 
-  protected long nextCheck;
+  // read without locking by LockFreeTriggeringPolicy implementations
+  protected volatile long nextCheck;
   protected boolean started = false;
 
   public boolean isStarted() {
@@ -14,6 +14,8 @@
 package ch.qos.logback.core.rolling;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Date;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -34,7 +36,7 @@ import ch.qos.logback.core.rolling.helper.*;
  * @author Ceki G&uuml;lc&uuml;
  */
 public class TimeBasedRollingPolicy<E> extends RollingPolicyBase implements
-    TriggeringPolicy<E> {
+    LockFreeTriggeringPolicy<E> {
   static final String FNP_NOT_SET = "The FileNamePattern option must be set before using TimeBasedRollingPolicy. ";
   static final int INFINITE_HISTORY = 0;
 
@@ -52,6 +54,10 @@ public class TimeBasedRollingPolicy<E> extends RollingPolicyBase implements
 
   boolean cleanHistoryOnStart = false;
 
+  private int compressionPriority = 0;
+
+  private boolean compressOnWrite = false;
+
   public void start() {
     // set the LR for our utility object
     renameUtil.setContext(this.context);
@@ -67,8 +73,19 @@ public class TimeBasedRollingPolicy<E> extends RollingPolicyBase implements
           + CoreConstants.SEE_FNP_NOT_SET);
     }
 
-    compressor = new Compressor(compressionMode);
-    compressor.setContext(context);
+    compressor = newCompressor();
+
+    if (compressOnWrite) {
+      if (compressionMode == CompressionMode.NONE) {
+        addWarn("Ignoring compressOnWrite as the file name pattern implies no compression");
+        compressOnWrite = false;
+      } else if (compressionMode == CompressionMode.ZIP) {
+        addError("Zip compression cannot be performed on write. Archives will be compressed on rollover");
+        compressOnWrite = false;
+      } else {
+        addInfo("Will compress the active file on write");
+      }
+    }
 
     // wcs : without compression suffix
     fileNamePatternWCS = new FileNamePattern(Compressor.computeFileNameStr_WCS(
@@ -152,6 +169,11 @@ public class TimeBasedRollingPolicy<E> extends RollingPolicyBase implements
       if (getParentsRawFileProperty() != null) {
         renameUtil.rename(getParentsRawFileProperty(), elapsedPeriodsFileName);
       } // else { nothing to do if CompressionMode == NONE and parentsRawFileProperty == null }
+    } else if (compressOnWrite) {
+      // the elapsed period's file is already compressed
+      if (getParentsRawFileProperty() != null) {
+        renameUtil.rename(getParentsRawFileProperty(), elapsedPeriodsFileName + compressionMode.getSuffix());
+      }
     } else {
       if (getParentsRawFileProperty() == null) {
         future = asyncCompress(elapsedPeriodsFileName, elapsedPeriodsFileName, elapsedPeriodStem);
@@ -167,7 +189,7 @@ public class TimeBasedRollingPolicy<E> extends RollingPolicyBase implements
 
   Future asyncCompress(String nameOfFile2Compress, String nameOfCompressedFile, String innerEntryName)
       throws RolloverFailure {
-    AsynchronousCompressor ac = new AsynchronousCompressor(compressor);
+    AsynchronousCompressor ac = new AsynchronousCompressor(compressor, compressionPriority);
     return ac.compressAsynchronously(nameOfFile2Compress, nameOfCompressedFile, innerEntryName);
   }
 
@@ -204,9 +226,32 @@ public class TimeBasedRollingPolicy<E> extends RollingPolicyBase implements
     if (parentsRawFileProperty != null) {
       return parentsRawFileProperty;
     } else {
-      return timeBasedFileNamingAndTriggeringPolicy
+      String fileName = timeBasedFileNamingAndTriggeringPolicy
           .getCurrentPeriodsFileNameWithoutCompressionSuffix();
+      return compressOnWrite ? fileName + compressionMode.getSuffix() : fileName;
+    }
+  }
+
+  /**
+   * Returns the stream the parent appender should write through, compressing
+   * into the given stream if {@link #isCompressOnWrite() compressOnWrite} is
+   * set.
+   *
+   * @since 1.1.3
+   */
+  public OutputStream wrapFileOutputStream(OutputStream fileOutputStream) throws IOException {
+    if (!compressOnWrite) {
+      return fileOutputStream;
+    }
+    return compressor.newCompressingOutputStream(fileOutputStream);
+  }
+
+  @SuppressWarnings("unchecked")
+  public boolean mayTrigger(File activeFile, final E event) {
+    if (timeBasedFileNamingAndTriggeringPolicy instanceof LockFreeTriggeringPolicy) {
+      return ((LockFreeTriggeringPolicy<E>) timeBasedFileNamingAndTriggeringPolicy).mayTrigger(activeFile, event);
     }
+    return true;
   }
 
   public boolean isTriggeringEvent(File activeFile, final E event) {
@@ -246,6 +291,38 @@ public class TimeBasedRollingPolicy<E> extends RollingPolicyBase implements
     this.cleanHistoryOnStart = cleanHistoryOnStart;
   }
 
+  public int getCompressionPriority() {
+    return compressionPriority;
+  }
+
+  /**
+   * The priority of this policy's compression jobs in the queue of the
+   * context's {@link CompressionExecutor}. Jobs with a higher priority are run
+   * first. Default is 0.
+   * @since 1.1.3
+   * @param compressionPriority
+   */
+  public void setCompressionPriority(int compressionPriority) {
+    this.compressionPriority = compressionPriority;
+  }
+
+  public boolean isCompressOnWrite() {
+    return compressOnWrite;
+  }
+
+  /**
+   * Should the active file be compressed as it is written rather than on
+   * rollover? Rollover then amounts to a rename, if anything. Data is
+   * compressed in chunks ending at each flush of the parent appender, which
+   * flushes every second unless told otherwise. Zip compression is not
+   * supported. Default is false.
+   * @since 1.1.3
+   * @param compressOnWrite
+   */
+  public void setCompressOnWrite(boolean compressOnWrite) {
+    this.compressOnWrite = compressOnWrite;
+  }
+
 
   @Override
   public String toString() {
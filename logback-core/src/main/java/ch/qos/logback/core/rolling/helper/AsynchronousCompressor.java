@@ -13,24 +13,34 @@
  */
 package ch.qos.logback.core.rolling.helper;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
+/**
+ * Submits compression jobs to the {@link CompressionExecutor} of the
+ * compressor's context.
+ */
 public class AsynchronousCompressor {
   Compressor compressor;
+  int priority;
 
   public AsynchronousCompressor(Compressor compressor) {
+    this(compressor, 0);
+  }
+
+  /**
+   * @param priority jobs with a higher priority are run first
+   * @since 1.1.3
+   */
+  public AsynchronousCompressor(Compressor compressor, int priority) {
     this.compressor = compressor;
+    this.priority = priority;
   }
 
   public Future<?> compressAsynchronously(String nameOfFile2Compress,
       String nameOfCompressedFile, String innerEntryName) {
-    ExecutorService executor = Executors.newScheduledThreadPool(1);
-    Future<?> future = executor.submit(new CompressionRunnable(compressor,
-        nameOfFile2Compress, nameOfCompressedFile, innerEntryName));
-    executor.shutdown();
-    return future;
+    CompressionExecutor executor = CompressionExecutor.getInstance(compressor.getContext());
+    return executor.submit(new CompressionRunnable(compressor,
+        nameOfFile2Compress, nameOfCompressedFile, innerEntryName), priority);
   }
 
 }
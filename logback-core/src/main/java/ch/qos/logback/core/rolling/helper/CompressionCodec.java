@@ -0,0 +1,49 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A stream compression format implemented by a third party library, which is
+ * looked up at runtime so that logback does not depend on it.
+ *
+ * @since 1.1.3
+ */
+public interface CompressionCodec {
+
+  /**
+   * Requests the default compression level of the codec.
+   */
+  int DEFAULT_LEVEL = -1;
+
+  /**
+   * The name of the library implementing this codec, for error messages.
+   */
+  String getLibraryName();
+
+  /**
+   * Whether the library implementing this codec is on the class path.
+   */
+  boolean isAvailable();
+
+  /**
+   * Returns a stream compressing into <code>out</code> at the given level,
+   * or at the codec's default level if <code>level</code> is
+   * {@link #DEFAULT_LEVEL}. Closing the returned stream closes
+   * <code>out</code>.
+   */
+  OutputStream newOutputStream(OutputStream out, int level) throws IOException;
+}
@@ -0,0 +1,169 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.spi.LifeCycle;
+
+/**
+ * Runs the compression jobs of all the rolling policies of a context on a
+ * bounded number of threads. Pending jobs wait in a priority queue: jobs with
+ * a higher priority run first, jobs of equal priority in submission order.
+ * Threads are started on demand and terminate after a minute without work.
+ * <p/>
+ * The number of threads is given by the {@link #THREAD_COUNT_PROPERTY}
+ * context property and defaults to half the number of available processors,
+ * at least one.
+ *
+ * @since 1.1.3
+ */
+public class CompressionExecutor extends ContextAwareBase implements LifeCycle {
+
+  /**
+   * The name of the context property holding the number of compression
+   * threads.
+   */
+  public static final String THREAD_COUNT_PROPERTY = "COMPRESSION_THREAD_COUNT";
+
+  /**
+   * The priority of the tasks compressing blocks of a file being compressed
+   * in parallel, which run ahead of any job.
+   */
+  static final int BLOCK_PRIORITY = Integer.MAX_VALUE;
+
+  static final long KEEP_ALIVE_MILLIS = 60 * 1000;
+
+  private int threadCount = defaultThreadCount();
+  private ThreadPoolExecutor threadPool;
+  private final AtomicLong sequence = new AtomicLong();
+
+  /**
+   * Returns the compression executor of the given context, creating and
+   * registering it on first use.
+   */
+  public static CompressionExecutor getInstance(Context context) {
+    synchronized (context) {
+      CompressionExecutor executor = (CompressionExecutor) context.getObject(CoreConstants.COMPRESSION_EXECUTOR);
+      if (executor == null || !executor.isStarted()) {
+        executor = new CompressionExecutor();
+        executor.setContext(context);
+        String threadCountStr = context.getProperty(THREAD_COUNT_PROPERTY);
+        if (threadCountStr != null) {
+          try {
+            executor.setThreadCount(Integer.parseInt(threadCountStr.trim()));
+          } catch (NumberFormatException e) {
+            executor.addWarn("Ignoring invalid " + THREAD_COUNT_PROPERTY + " [" + threadCountStr + "]");
+          }
+        }
+        executor.start();
+        context.putObject(CoreConstants.COMPRESSION_EXECUTOR, executor);
+        context.register(executor);
+      }
+      return executor;
+    }
+  }
+
+  static int defaultThreadCount() {
+    return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+  }
+
+  public void start() {
+    if (threadCount < 1) {
+      addWarn("Invalid thread count [" + threadCount + "], using 1 instead");
+      threadCount = 1;
+    }
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(threadCount, threadCount,
+        KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS,
+        new PriorityBlockingQueue<Runnable>(), new CompressionThreadFactory());
+    pool.allowCoreThreadTimeOut(true);
+    threadPool = pool;
+  }
+
+  /**
+   * Stops accepting jobs. Pending jobs are still run.
+   */
+  public void stop() {
+    if (threadPool != null) {
+      threadPool.shutdown();
+    }
+  }
+
+  public boolean isStarted() {
+    return threadPool != null && !threadPool.isShutdown();
+  }
+
+  /**
+   * Queues the given job. Once this executor is stopped, jobs are run by the
+   * calling thread.
+   */
+  public Future<?> submit(Runnable job, int priority) {
+    Job task = new Job(Executors.callable(job), priority, sequence.getAndIncrement());
+    try {
+      threadPool.execute(task);
+    } catch (RejectedExecutionException e) {
+      task.run();
+    }
+    return task;
+  }
+
+  public int getThreadCount() {
+    return threadCount;
+  }
+
+  public void setThreadCount(int threadCount) {
+    this.threadCount = threadCount;
+  }
+
+  static class Job extends FutureTask<Object> implements Comparable<Job> {
+    final int priority;
+    final long sequenceNumber;
+
+    Job(Callable<Object> callable, int priority, long sequenceNumber) {
+      super(callable);
+      this.priority = priority;
+      this.sequenceNumber = sequenceNumber;
+    }
+
+    public int compareTo(Job other) {
+      if (priority != other.priority) {
+        return priority > other.priority ? -1 : 1;
+      }
+      return sequenceNumber < other.sequenceNumber ? -1 : (sequenceNumber == other.sequenceNumber ? 0 : 1);
+    }
+  }
+
+  static class CompressionThreadFactory implements ThreadFactory {
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    public Thread newThread(Runnable r) {
+      Thread thread = new Thread(r, "logback-compression-" + threadNumber.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -14,5 +14,38 @@
 package ch.qos.logback.core.rolling.helper;
 
 public enum CompressionMode {
-  NONE, GZ, ZIP;
+  NONE(null), GZ(".gz"), ZIP(".zip"), ZSTD(".zst"), LZ4(".lz4");
+
+  private final String suffix;
+
+  CompressionMode(String suffix) {
+    this.suffix = suffix;
+  }
+
+  /**
+   * Returns the file name suffix implying this compression mode, or null for
+   * {@link #NONE}.
+   *
+   * @since 1.1.3
+   */
+  public String getSuffix() {
+    return suffix;
+  }
+
+  /**
+   * Returns the codec of the modes implemented by a third party library, or
+   * null for the modes implemented by the JDK.
+   *
+   * @since 1.1.3
+   */
+  public CompressionCodec getCodec() {
+    switch (this) {
+      case ZSTD:
+        return ZstdCodec.INSTANCE;
+      case LZ4:
+        return Lz4Codec.INSTANCE;
+      default:
+        return null;
+    }
+  }
 }
@@ -16,8 +16,11 @@ package ch.qos.logback.core.rolling.helper;
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -30,7 +33,12 @@ import ch.qos.logback.core.util.FileUtil;
 
 /**
  * The <code>Compression</code> class implements ZIP and GZ file
- * compression/decompression methods.
+ * compression/decompression methods, as well as the compression modes
+ * implemented by a {@link CompressionCodec}.
+ * <p/>
+ * Files at least as large as the parallel threshold are gzipped in parallel
+ * blocks on the {@link CompressionExecutor} of the context, provided it has
+ * more than one thread.
  *
  * @author Ceki G&uuml;lc&uuml;
  */
@@ -38,7 +46,12 @@ public class Compressor extends ContextAwareBase {
 
   final CompressionMode compressionMode;
 
-  static final int BUFFER_SIZE = 8192;
+  static final int BUFFER_SIZE = 64 * 1024;
+
+  public static final long DEFAULT_PARALLEL_THRESHOLD = 64 * 1024 * 1024;
+
+  long parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+  int compressionLevel = CompressionCodec.DEFAULT_LEVEL;
 
   public Compressor(CompressionMode compressionMode) {
     this.compressionMode = compressionMode;
@@ -57,6 +70,10 @@ public class Compressor extends ContextAwareBase {
       case ZIP:
         zipCompress(nameOfFile2Compress, nameOfCompressedFile, innerEntryName);
         break;
+      case ZSTD:
+      case LZ4:
+        codecCompress(compressionMode.getCodec(), nameOfFile2Compress, nameOfCompressedFile);
+        break;
       case NONE:
         throw new UnsupportedOperationException(
                 "compress method called in NONE compression mode");
@@ -98,7 +115,11 @@ public class Compressor extends ContextAwareBase {
     ZipOutputStream zos = null;
     try {
       bis = new BufferedInputStream(new FileInputStream(nameOfFile2zip));
-      zos = new ZipOutputStream(new FileOutputStream(nameOfZippedFile));
+      zos = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(nameOfZippedFile), BUFFER_SIZE));
+
+      if (compressionLevel != CompressionCodec.DEFAULT_LEVEL) {
+        zos.setLevel(compressionLevel);
+      }
 
       ZipEntry zipEntry = computeZipEntry(innerEntryName);
       zos.putNextEntry(zipEntry);
@@ -193,16 +214,21 @@ public class Compressor extends ContextAwareBase {
     addInfo("GZ compressing [" + file2gz + "] as ["+gzedFile+"]");
     createMissingTargetDirsIfNecessary(gzedFile);
 
+    CompressionExecutor executor = null;
+    if (context != null && file2gz.length() >= parallelThreshold) {
+      executor = CompressionExecutor.getInstance(context);
+    }
+
     BufferedInputStream bis = null;
-    GZIPOutputStream gzos = null;
+    OutputStream gzos = null;
     try {
-      bis = new BufferedInputStream(new FileInputStream(nameOfFile2gz));
-      gzos = new GZIPOutputStream(new FileOutputStream(nameOfgzedFile));
-      byte[] inbuf = new byte[BUFFER_SIZE];
-      int n;
-
-      while ((n = bis.read(inbuf)) != -1) {
-        gzos.write(inbuf, 0, n);
+      bis = new BufferedInputStream(new FileInputStream(nameOfFile2gz), BUFFER_SIZE);
+      if (executor != null && executor.getThreadCount() > 1) {
+        gzos = new BufferedOutputStream(new FileOutputStream(nameOfgzedFile), BUFFER_SIZE);
+        new ParallelGzipCompressor(executor, executor.getThreadCount(), compressionLevel).compress(bis, gzos);
+      } else {
+        gzos = newGZIPOutputStream(new FileOutputStream(nameOfgzedFile), compressionLevel);
+        copy(bis, gzos);
       }
 
       bis.close();
@@ -235,6 +261,113 @@ public class Compressor extends ContextAwareBase {
     }
   }
 
+  static GZIPOutputStream newGZIPOutputStream(OutputStream out, final int level) throws IOException {
+    return new GZIPOutputStream(out, BUFFER_SIZE) {
+      {
+        if (level != CompressionCodec.DEFAULT_LEVEL) {
+          def.setLevel(level);
+        }
+      }
+    };
+  }
+
+  /**
+   * Returns a stream compressing into <code>out</code> in this compressor's
+   * mode, such that all the data written up to the last flush can be read
+   * back. Zip archives are not supported.
+   *
+   * @since 1.1.3
+   */
+  public OutputStream newCompressingOutputStream(OutputStream out) throws IOException {
+    switch (compressionMode) {
+      case GZ:
+        return new GzipMemberOutputStream(out, compressionLevel);
+      case ZSTD:
+      case LZ4:
+        return compressionMode.getCodec().newOutputStream(out, compressionLevel);
+      default:
+        throw new UnsupportedOperationException(
+                "Cannot compress on write in " + compressionMode + " compression mode");
+    }
+  }
+
+  private void codecCompress(CompressionCodec codec, String nameOfFile2Compress, String nameOfCompressedFile) {
+    File file2Compress = new File(nameOfFile2Compress);
+
+    if (!file2Compress.exists()) {
+      addWarn("The file to compress named [" + nameOfFile2Compress
+              + "] does not exist.");
+      return;
+    }
+
+    if (!codec.isAvailable()) {
+      addError("Cannot compress [" + nameOfFile2Compress + "] in " + compressionMode
+              + " mode as " + codec.getLibraryName() + " was not found on the class path.");
+      return;
+    }
+
+    String suffix = compressionMode.getSuffix();
+    if (!nameOfCompressedFile.endsWith(suffix)) {
+      nameOfCompressedFile = nameOfCompressedFile + suffix;
+    }
+
+    File compressedFile = new File(nameOfCompressedFile);
+
+    if (compressedFile.exists()) {
+      addWarn("The target compressed file named ["
+              + nameOfCompressedFile + "] exist already. Aborting file compression.");
+      return;
+    }
+
+    addInfo(compressionMode + " compressing [" + file2Compress + "] as [" + compressedFile + "]");
+    createMissingTargetDirsIfNecessary(compressedFile);
+
+    BufferedInputStream bis = null;
+    OutputStream os = null;
+    try {
+      bis = new BufferedInputStream(new FileInputStream(nameOfFile2Compress), BUFFER_SIZE);
+      os = codec.newOutputStream(new BufferedOutputStream(new FileOutputStream(nameOfCompressedFile), BUFFER_SIZE),
+              compressionLevel);
+      copy(bis, os);
+
+      bis.close();
+      bis = null;
+      os.close();
+      os = null;
+
+      if (!file2Compress.delete()) {
+        addWarn("Could not delete [" + nameOfFile2Compress + "].");
+      }
+    } catch (Exception e) {
+      addError("Error occurred while compressing ["
+              + nameOfFile2Compress + "] into [" + nameOfCompressedFile + "].", e);
+    } finally {
+      if (bis != null) {
+        try {
+          bis.close();
+        } catch (IOException e) {
+          // ignore
+        }
+      }
+      if (os != null) {
+        try {
+          os.close();
+        } catch (IOException e) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  private static void copy(InputStream in, OutputStream out) throws IOException {
+    byte[] inbuf = new byte[BUFFER_SIZE];
+    int n;
+
+    while ((n = in.read(inbuf)) != -1) {
+      out.write(inbuf, 0, n);
+    }
+  }
+
   static public String computeFileNameStr_WCS(String fileNamePatternStr,
                                               CompressionMode compressionMode) {
     int len = fileNamePatternStr.length();
@@ -249,6 +382,13 @@ public class Compressor extends ContextAwareBase {
           return fileNamePatternStr.substring(0, len - 4);
         else
           return fileNamePatternStr;
+      case ZSTD:
+      case LZ4:
+        String suffix = compressionMode.getSuffix();
+        if (fileNamePatternStr.endsWith(suffix))
+          return fileNamePatternStr.substring(0, len - suffix.length());
+        else
+          return fileNamePatternStr;
       case NONE:
         return fileNamePatternStr;
     }
@@ -264,6 +404,33 @@ public class Compressor extends ContextAwareBase {
     }
   }
 
+  public long getParallelThreshold() {
+    return parallelThreshold;
+  }
+
+  /**
+   * Sets the size from which files are gzipped in parallel blocks.
+   *
+   * @since 1.1.3
+   */
+  public void setParallelThreshold(long parallelThreshold) {
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  public int getCompressionLevel() {
+    return compressionLevel;
+  }
+
+  /**
+   * Sets the compression level, {@link CompressionCodec#DEFAULT_LEVEL} for
+   * the default level of the compression mode.
+   *
+   * @since 1.1.3
+   */
+  public void setCompressionLevel(int compressionLevel) {
+    this.compressionLevel = compressionLevel;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getName();
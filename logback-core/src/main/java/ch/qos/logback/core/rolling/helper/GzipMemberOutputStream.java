@@ -0,0 +1,139 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Gzips its output as a sequence of gzip members, one per flush. As specified
+ * by RFC 1952, the sequence forms a valid gzip file. Unlike a
+ * {@link java.util.zip.GZIPOutputStream}, whose output can only be read once
+ * closed, everything written up to the last flush can be read back, at the
+ * cost of a slightly lower compression ratio for frequent flushes.
+ *
+ * @since 1.1.3
+ */
+class GzipMemberOutputStream extends OutputStream {
+
+  // the header written by GZIPOutputStream: magic number, deflate method,
+  // no flags, no modification time, no extra flags, unknown OS
+  private static final byte[] HEADER = { (byte) 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0 };
+
+  private final OutputStream out;
+  private final Deflater deflater;
+  private final CRC32 crc = new CRC32();
+  private final byte[] buf = new byte[Compressor.BUFFER_SIZE];
+  private final byte[] single = new byte[1];
+  private boolean memberStarted;
+  private boolean memberWritten;
+  private boolean closed;
+
+  GzipMemberOutputStream(OutputStream out, int level) {
+    this.out = out;
+    this.deflater = new Deflater(level == CompressionCodec.DEFAULT_LEVEL ? Deflater.DEFAULT_COMPRESSION : level, true);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    single[0] = (byte) b;
+    write(single, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+    if (len == 0) {
+      return;
+    }
+    startMember();
+    crc.update(b, off, len);
+    deflater.setInput(b, off, len);
+    while (!deflater.needsInput()) {
+      deflate();
+    }
+  }
+
+  /**
+   * Ends the current member, if any, and flushes the underlying stream.
+   */
+  @Override
+  public void flush() throws IOException {
+    if (closed) {
+      return;
+    }
+    finishMember();
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      // an empty file is not a valid gzip file, whereas an empty member is
+      if (!memberWritten) {
+        startMember();
+      }
+      finishMember();
+    } finally {
+      closed = true;
+      deflater.end();
+      out.close();
+    }
+  }
+
+  private void startMember() throws IOException {
+    if (!memberStarted) {
+      out.write(HEADER);
+      memberStarted = true;
+    }
+  }
+
+  private void finishMember() throws IOException {
+    if (!memberStarted) {
+      return;
+    }
+    deflater.finish();
+    while (!deflater.finished()) {
+      deflate();
+    }
+    writeIntLE((int) crc.getValue());
+    // the size of the input modulo 2^32
+    writeIntLE((int) deflater.getBytesRead());
+    deflater.reset();
+    crc.reset();
+    memberStarted = false;
+    memberWritten = true;
+  }
+
+  private void deflate() throws IOException {
+    int n = deflater.deflate(buf, 0, buf.length);
+    if (n > 0) {
+      out.write(buf, 0, n);
+    }
+  }
+
+  private void writeIntLE(int i) throws IOException {
+    out.write(i & 0xff);
+    out.write((i >> 8) & 0xff);
+    out.write((i >> 16) & 0xff);
+    out.write((i >> 24) & 0xff);
+  }
+}
@@ -0,0 +1,82 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+import ch.qos.logback.core.util.Loader;
+
+/**
+ * LZ4 compression in the frame format read by the <em>lz4</em> command, as
+ * implemented by the <a href="https://github.com/lz4/lz4-java">lz4-java</a>
+ * library. The default level uses the fast compressor, levels from 1 to 17
+ * the high compression one.
+ *
+ * @since 1.1.3
+ */
+public class Lz4Codec extends ReflectiveCompressionCodec {
+
+  static final Lz4Codec INSTANCE = new Lz4Codec();
+
+  private Constructor<? extends OutputStream> withDefaultLevel;
+  private Constructor<? extends OutputStream> withCompressor;
+  private Object lz4Factory;
+  private Method highCompressor;
+  private Object hash32;
+  private Object blockSize;
+  private Object flags;
+
+  Lz4Codec() {
+    super("lz4-java");
+    resolve();
+  }
+
+  void resolveLibrary() throws Exception {
+    Class<? extends OutputStream> outputStreamClass = Loader.loadClass("net.jpountz.lz4.LZ4FrameOutputStream").asSubclass(OutputStream.class);
+    Class<?> blockSizeClass = Loader.loadClass("net.jpountz.lz4.LZ4FrameOutputStream$BLOCKSIZE");
+    Class<?> flagClass = Loader.loadClass("net.jpountz.lz4.LZ4FrameOutputStream$FLG$Bits");
+    Class<?> factoryClass = Loader.loadClass("net.jpountz.lz4.LZ4Factory");
+    Class<?> compressorClass = Loader.loadClass("net.jpountz.lz4.LZ4Compressor");
+    Class<?> hashFactoryClass = Loader.loadClass("net.jpountz.xxhash.XXHashFactory");
+    Class<?> hash32Class = Loader.loadClass("net.jpountz.xxhash.XXHash32");
+
+    lz4Factory = factoryClass.getMethod("fastestInstance").invoke(null);
+    highCompressor = factoryClass.getMethod("highCompressor", int.class);
+    Object hashFactory = hashFactoryClass.getMethod("fastestInstance").invoke(null);
+    hash32 = hashFactoryClass.getMethod("hash32").invoke(hashFactory);
+    // the block size and flags used by LZ4FrameOutputStream by default
+    blockSize = enumConstant(blockSizeClass, "SIZE_4MB");
+    flags = Array.newInstance(flagClass, 1);
+    Array.set(flags, 0, enumConstant(flagClass, "BLOCK_INDEPENDENCE"));
+
+    withDefaultLevel = outputStreamClass.getConstructor(OutputStream.class);
+    withCompressor = outputStreamClass.getConstructor(OutputStream.class, blockSizeClass, long.class,
+        compressorClass, hash32Class, flags.getClass());
+  }
+
+  private static Object enumConstant(Class<?> enumClass, String name) throws Exception {
+    return enumClass.getMethod("valueOf", String.class).invoke(null, name);
+  }
+
+  OutputStream invokeLibrary(OutputStream out, int level) throws Exception {
+    if (level == DEFAULT_LEVEL) {
+      return withDefaultLevel.newInstance(out);
+    }
+    Object compressor = highCompressor.invoke(lz4Factory, level);
+    return withCompressor.newInstance(out, blockSize, -1L, compressor, hash32, flags);
+  }
+}
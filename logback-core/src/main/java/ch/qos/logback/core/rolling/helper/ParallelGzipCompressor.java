@@ -0,0 +1,181 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips a stream by blocks compressed in parallel. Each block becomes a
+ * separate gzip member. As specified by RFC 1952, a sequence of members forms
+ * a valid gzip file whose content is the concatenation of the members'
+ * contents, as is the case of files produced by <em>bgzip</em>.
+ * <p/>
+ * Blocks are compressed by the calling thread and by tasks submitted to a
+ * {@link CompressionExecutor}, such that compression completes even if the
+ * executor has no idle thread. At most two blocks per thread are held in
+ * memory.
+ *
+ * @since 1.1.3
+ */
+class ParallelGzipCompressor {
+
+  static final int BLOCK_SIZE = 1024 * 1024;
+
+  final CompressionExecutor executor;
+  final int parallelism;
+  final int level;
+  final int blockSize;
+
+  ParallelGzipCompressor(CompressionExecutor executor, int parallelism, int level) {
+    this(executor, parallelism, level, BLOCK_SIZE);
+  }
+
+  ParallelGzipCompressor(CompressionExecutor executor, int parallelism, int level, int blockSize) {
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.level = level;
+    this.blockSize = blockSize;
+  }
+
+  void compress(InputStream in, OutputStream out) throws IOException {
+    final Queue<Block> pending = new ConcurrentLinkedQueue<Block>();
+    LinkedList<Block> window = new LinkedList<Block>();
+    int maxBlocksInFlight = 2 * parallelism;
+    boolean endOfInput = false;
+    boolean blockRead = false;
+
+    while (true) {
+      while (!endOfInput && window.size() < maxBlocksInFlight) {
+        Block block = Block.read(in, blockSize, level);
+        if (block == null) {
+          endOfInput = true;
+        } else {
+          blockRead = true;
+          window.add(block);
+          pending.add(block);
+          executor.submit(new BlockCompression(pending), CompressionExecutor.BLOCK_PRIORITY);
+        }
+      }
+      if (window.isEmpty()) {
+        if (!blockRead) {
+          // a gzip file consists of at least one member
+          Compressor.newGZIPOutputStream(out, level).finish();
+        }
+        return;
+      }
+
+      Block head = window.removeFirst();
+      // rather than wait, compress pending blocks in this thread
+      while (!head.isDone()) {
+        Block block = pending.poll();
+        if (block == null) {
+          head.awaitDone();
+          break;
+        }
+        block.compress();
+      }
+      head.writeTo(out);
+    }
+  }
+
+  /**
+   * Compresses one pending block, if any is left.
+   */
+  static class BlockCompression implements Runnable {
+    final Queue<Block> pending;
+
+    BlockCompression(Queue<Block> pending) {
+      this.pending = pending;
+    }
+
+    public void run() {
+      Block block = pending.poll();
+      if (block != null) {
+        block.compress();
+      }
+    }
+  }
+
+  static class Block {
+    final byte[] input;
+    final int length;
+    final int level;
+    final CountDownLatch done = new CountDownLatch(1);
+    // written before done is counted down, read after
+    ByteArrayOutputStream output;
+    IOException failure;
+
+    Block(byte[] input, int length, int level) {
+      this.input = input;
+      this.length = length;
+      this.level = level;
+    }
+
+    /**
+     * Reads a full block, or what is left of the input, or returns null at
+     * the end of the input.
+     */
+    static Block read(InputStream in, int blockSize, int level) throws IOException {
+      byte[] buffer = new byte[blockSize];
+      int length = 0;
+      int n;
+      while (length < blockSize && (n = in.read(buffer, length, blockSize - length)) != -1) {
+        length += n;
+      }
+      return length == 0 ? null : new Block(buffer, length, level);
+    }
+
+    void compress() {
+      try {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(length / 4 + 64);
+        GZIPOutputStream gzos = Compressor.newGZIPOutputStream(baos, level);
+        gzos.write(input, 0, length);
+        gzos.close();
+        output = baos;
+      } catch (IOException e) {
+        failure = e;
+      } finally {
+        done.countDown();
+      }
+    }
+
+    boolean isDone() {
+      return done.getCount() == 0;
+    }
+
+    void awaitDone() throws IOException {
+      try {
+        done.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while waiting for a block to be compressed");
+      }
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+      if (failure != null) {
+        throw failure;
+      }
+      output.writeTo(out);
+    }
+  }
+}
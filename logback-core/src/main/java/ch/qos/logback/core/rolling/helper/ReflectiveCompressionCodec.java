@@ -0,0 +1,87 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Base class for codecs accessing their library through reflection.
+ * Subclasses resolve the classes and methods they need once, in their
+ * constructor, and are unavailable if any of them is missing.
+ *
+ * @since 1.1.3
+ */
+abstract class ReflectiveCompressionCodec implements CompressionCodec {
+
+  private final String libraryName;
+  private boolean available;
+
+  ReflectiveCompressionCodec(String libraryName) {
+    this.libraryName = libraryName;
+  }
+
+  /**
+   * Resolves the library, returning normally if and only if the codec can be
+   * used.
+   */
+  void resolve() {
+    try {
+      resolveLibrary();
+      available = true;
+    } catch (Exception e) {
+      available = false;
+    } catch (LinkageError e) {
+      available = false;
+    }
+  }
+
+  abstract void resolveLibrary() throws Exception;
+
+  abstract OutputStream invokeLibrary(OutputStream out, int level) throws Exception;
+
+  public String getLibraryName() {
+    return libraryName;
+  }
+
+  public boolean isAvailable() {
+    return available;
+  }
+
+  public OutputStream newOutputStream(OutputStream out, int level) throws IOException {
+    if (!available) {
+      throw new IOException(libraryName + " was not found on the class path");
+    }
+    try {
+      return invokeLibrary(out, level);
+    } catch (InvocationTargetException e) {
+      throw asIOException(e.getCause());
+    } catch (Exception e) {
+      throw asIOException(e);
+    } catch (LinkageError e) {
+      // e.g. no native library for this platform
+      throw asIOException(e);
+    }
+  }
+
+  static IOException asIOException(Throwable t) {
+    if (t instanceof IOException) {
+      return (IOException) t;
+    }
+    IOException ioe = new IOException(t.toString());
+    ioe.initCause(t);
+    return ioe;
+  }
+}
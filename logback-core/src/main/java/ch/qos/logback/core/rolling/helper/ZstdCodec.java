@@ -0,0 +1,56 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+
+import ch.qos.logback.core.util.Loader;
+
+/**
+ * Zstandard compression, as implemented by the
+ * <a href="https://github.com/luben/zstd-jni">zstd-jni</a> library. Levels
+ * range from 1 to 22, the default being 3.
+ *
+ * @since 1.1.3
+ */
+public class ZstdCodec extends ReflectiveCompressionCodec {
+
+  static final String OUTPUT_STREAM_CLASS = "com.github.luben.zstd.ZstdOutputStream";
+
+  static final ZstdCodec INSTANCE = new ZstdCodec(OUTPUT_STREAM_CLASS);
+
+  private final String outputStreamClassName;
+  private Constructor<? extends OutputStream> withDefaultLevel;
+  private Constructor<? extends OutputStream> withLevel;
+
+  ZstdCodec(String outputStreamClassName) {
+    super("zstd-jni");
+    this.outputStreamClassName = outputStreamClassName;
+    resolve();
+  }
+
+  void resolveLibrary() throws Exception {
+    Class<? extends OutputStream> outputStreamClass = Loader.loadClass(outputStreamClassName).asSubclass(OutputStream.class);
+    withDefaultLevel = outputStreamClass.getConstructor(OutputStream.class);
+    withLevel = outputStreamClass.getConstructor(OutputStream.class, int.class);
+  }
+
+  OutputStream invokeLibrary(OutputStream out, int level) throws Exception {
+    if (level == DEFAULT_LEVEL) {
+      return withDefaultLevel.newInstance(out);
+    }
+    return withLevel.newInstance(out, level);
+  }
+}
@@ -15,6 +15,7 @@ package ch.qos.logback.core.sift;
 
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.spi.EventRetaining;
 import ch.qos.logback.core.util.Duration;
 
 /**
@@ -28,7 +29,7 @@ import ch.qos.logback.core.util.Duration;
  * @author Ceki Gulcu
  */
 public abstract class SiftingAppenderBase<E> extends
-        AppenderBase<E> {
+        AppenderBase<E> implements EventRetaining {
 
   protected AppenderTracker<E> appenderTracker;
   AppenderFactory<E> appenderFactory;
@@ -0,0 +1,28 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.spi;
+
+/**
+ * Marker interface for appenders which keep a reference to the events they
+ * receive after their <code>doAppend</code> method returns, for example to
+ * buffer them or to process them in another thread.
+ *
+ * <p>Events passed to such appenders are never reused for subsequent logging
+ * requests. Appenders retaining events without implementing this interface
+ * must not be used when the reuse of events is enabled.
+ *
+ * @since 1.1.3
+ */
+public interface EventRetaining {
+}
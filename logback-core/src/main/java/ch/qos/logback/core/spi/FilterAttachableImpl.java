@@ -57,6 +57,27 @@ final public class FilterAttachableImpl<E> implements FilterAttachable<E> {
     return FilterReply.NEUTRAL;
   }
 
+  /**
+   * Return the events in the list which are not denied by the filter chain.
+   * The list is copied only if at least one event is denied.
+   *
+   * @since 1.1.3
+   */
+  public List<E> getAcceptedEvents(List<E> eventList) {
+    List<E> acceptedList = eventList;
+    for (int i = 0; i < eventList.size(); i++) {
+      E event = eventList.get(i);
+      if (getFilterChainDecision(event) == FilterReply.DENY) {
+        if (acceptedList == eventList) {
+          acceptedList = new ArrayList<E>(eventList.subList(0, i));
+        }
+      } else if (acceptedList != eventList) {
+        acceptedList.add(event);
+      }
+    }
+    return acceptedList;
+  }
+
   public List<Filter<E>> getCopyOfAttachedFiltersList() {
     return new ArrayList<Filter<E>>(filterList);
   }
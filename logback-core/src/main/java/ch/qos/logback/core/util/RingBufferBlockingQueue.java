@@ -0,0 +1,220 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, pre-allocated, lock-free {@link BlockingQueue} supporting multiple
+ * producers and a <b>single</b> consumer.
+ *
+ * <p>Producers claim a slot by advancing the tail sequence with a CAS and then
+ * publish their element by updating the slot's sequence number. The consumer
+ * reads slots in order once they have been published. No locks are taken and
+ * no memory is allocated on either path. When the queue is full (for
+ * producers) or empty (for the consumer), blocking methods wait according to
+ * the configured {@link WaitStrategy}.
+ *
+ * <p>Only one thread at a time may invoke the removal methods ({@link #poll()},
+ * {@link #take()}, {@link #drainTo(Collection)} and their variants). Iteration
+ * returns a weakly consistent snapshot which does not support removal.
+ *
+ * @param <E> the type of elements held in this queue
+ * @since 1.1.3
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+  final int capacity;
+  final WaitStrategy waitStrategy;
+
+  final AtomicReferenceArray<E> slots;
+  // a slot at index i is free for the producer claiming position p when its sequence equals p,
+  // and holds a published element for the consumer at position p when its sequence equals p+1
+  final AtomicLongArray sequences;
+
+  // next position to be claimed by a producer
+  final AtomicLong tail = new AtomicLong();
+  // next position to be read by the consumer
+  final AtomicLong head = new AtomicLong();
+
+  /**
+   * @param capacity the capacity of the queue, at least 2 as the element of a
+   *          single slot could not be told apart from a free slot
+   * @param waitStrategy how blocking methods wait
+   */
+  public RingBufferBlockingQueue(int capacity, WaitStrategy waitStrategy) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("Invalid capacity [" + capacity + "]");
+    }
+    if (waitStrategy == null) {
+      throw new NullPointerException("waitStrategy cannot be null");
+    }
+    this.capacity = capacity;
+    this.waitStrategy = waitStrategy;
+    this.slots = new AtomicReferenceArray<E>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  private int indexOf(long position) {
+    return (int) (position % capacity);
+  }
+
+  public boolean offer(E e) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    long position = tail.get();
+    int index;
+    while (true) {
+      index = indexOf(position);
+      long diff = sequences.get(index) - position;
+      if (diff == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          break;
+        }
+        position = tail.get();
+      } else if (diff < 0) {
+        // the slot has not been consumed yet, the queue is full
+        return false;
+      } else {
+        // another producer claimed this position
+        position = tail.get();
+      }
+    }
+    slots.set(index, e);
+    sequences.lazySet(index, position + 1);
+    return true;
+  }
+
+  public void put(E e) throws InterruptedException {
+    while (!offer(e)) {
+      waitStrategy.await();
+    }
+  }
+
+  public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (!offer(e)) {
+      if (System.nanoTime() - deadline >= 0) {
+        return false;
+      }
+      waitStrategy.await();
+    }
+    return true;
+  }
+
+  public E poll() {
+    long position = head.get();
+    int index = indexOf(position);
+    if (sequences.get(index) != position + 1) {
+      return null;
+    }
+    E e = slots.get(index);
+    slots.lazySet(index, null);
+    sequences.lazySet(index, position + capacity);
+    head.lazySet(position + 1);
+    return e;
+  }
+
+  public E take() throws InterruptedException {
+    E e;
+    while ((e = poll()) == null) {
+      waitStrategy.await();
+    }
+    return e;
+  }
+
+  public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    E e;
+    while ((e = poll()) == null) {
+      if (System.nanoTime() - deadline >= 0) {
+        return null;
+      }
+      waitStrategy.await();
+    }
+    return e;
+  }
+
+  public E peek() {
+    long position = head.get();
+    int index = indexOf(position);
+    if (sequences.get(index) != position + 1) {
+      return null;
+    }
+    return slots.get(index);
+  }
+
+  public int drainTo(Collection<? super E> c) {
+    return drainTo(c, Integer.MAX_VALUE);
+  }
+
+  public int drainTo(Collection<? super E> c, int maxElements) {
+    if (c == null) {
+      throw new NullPointerException();
+    }
+    if (c == this) {
+      throw new IllegalArgumentException();
+    }
+    int n = 0;
+    E e;
+    while (n < maxElements && (e = poll()) != null) {
+      c.add(e);
+      n++;
+    }
+    return n;
+  }
+
+  public int size() {
+    // read head first so that the difference can never be negative
+    long h = head.get();
+    long t = tail.get();
+    long size = t - h;
+    return (int) Math.min(size, capacity);
+  }
+
+  public int remainingCapacity() {
+    return capacity - size();
+  }
+
+  /**
+   * Returns a weakly consistent snapshot of the published elements. The
+   * returned iterator does not support removal.
+   */
+  public Iterator<E> iterator() {
+    List<E> snapshot = new ArrayList<E>();
+    long t = tail.get();
+    for (long position = head.get(); position < t; position++) {
+      int index = indexOf(position);
+      E e = slots.get(index);
+      if (sequences.get(index) == position + 1 && e != null) {
+        snapshot.add(e);
+      }
+    }
+    return Collections.unmodifiableList(snapshot).iterator();
+  }
+}
@@ -0,0 +1,68 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Determines how a thread waits for a lock-free data structure, such as
+ * {@link RingBufferBlockingQueue}, to become ready.
+ *
+ * <p>{@link #SPIN} offers the lowest latency at the cost of burning a CPU core,
+ * {@link #YIELD} gives other threads a chance to run and {@link #PARK} is the
+ * most CPU friendly but adds some latency.
+ *
+ * @since 1.1.3
+ */
+public enum WaitStrategy {
+
+  SPIN {
+    void idle() {
+    }
+  },
+
+  YIELD {
+    void idle() {
+      Thread.yield();
+    }
+  },
+
+  PARK {
+    void idle() {
+      LockSupport.parkNanos(PARK_NANOS);
+    }
+  };
+
+  /**
+   * The duration, in nanoseconds, of each park for the {@link #PARK} strategy.
+   */
+  static final long PARK_NANOS = 100 * 1000L;
+
+  /**
+   * Wait once. Callers are expected to re-check their condition after each
+   * invocation.
+   */
+  abstract void idle();
+
+  /**
+   * Wait once and throw an {@link InterruptedException} if the calling thread
+   * was interrupted.
+   */
+  public void await() throws InterruptedException {
+    idle();
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+}
@@ -19,6 +19,8 @@ import ch.qos.logback.core.testUtil.DelayingListAppender;
 import ch.qos.logback.core.status.OnConsoleStatusListener;
 import ch.qos.logback.core.status.StatusChecker;
 import ch.qos.logback.core.testUtil.NPEAppender;
+import ch.qos.logback.core.util.Duration;
+import ch.qos.logback.core.util.WaitStrategy;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -149,6 +151,139 @@ public class AsyncAppenderBaseTest {
     verify(delayingListAppender, loopLen);
   }
 
+  @Test(timeout = 2000)
+  public void noEventLossWithRingBuffer() {
+    int bufferSize = 10;
+    int loopLen = bufferSize * 2;
+    asyncAppenderBase.addAppender(delayingListAppender);
+    asyncAppenderBase.setQueueSize(bufferSize);
+    asyncAppenderBase.setQueueType(AsyncQueueType.RING_BUFFER);
+    asyncAppenderBase.setWaitStrategy(WaitStrategy.YIELD);
+    asyncAppenderBase.start();
+    for (int i = 0; i < loopLen; i++) {
+      asyncAppenderBase.doAppend(i);
+    }
+    asyncAppenderBase.stop();
+    verify(delayingListAppender, loopLen);
+  }
+
+  @Test(timeout = 2000)
+  public void lossyRingBufferShouldOnlyLooseCertainEvents() {
+    int bufferSize = 5;
+    int loopLen = bufferSize * 2;
+    lossyAsyncAppender.addAppender(delayingListAppender);
+    lossyAsyncAppender.setQueueSize(bufferSize);
+    lossyAsyncAppender.setQueueType(AsyncQueueType.RING_BUFFER);
+    lossyAsyncAppender.setDiscardingThreshold(1);
+    lossyAsyncAppender.start();
+    for (int i = 0; i < loopLen; i++) {
+      lossyAsyncAppender.doAppend(i);
+    }
+    lossyAsyncAppender.stop();
+    verify(delayingListAppender, loopLen - 2);
+  }
+
+  @Test(timeout = 2000)
+  public void noEventLossWithBatching() {
+    int bufferSize = 10;
+    int loopLen = bufferSize * 2;
+    asyncAppenderBase.addAppender(delayingListAppender);
+    asyncAppenderBase.setQueueSize(bufferSize);
+    asyncAppenderBase.setMaxBatchSize(4);
+    asyncAppenderBase.start();
+    for (int i = 0; i < loopLen; i++) {
+      asyncAppenderBase.doAppend(i);
+    }
+    asyncAppenderBase.stop();
+    verify(delayingListAppender, loopLen);
+    for (int i = 0; i < loopLen; i++) {
+      assertEquals(Integer.valueOf(i), delayingListAppender.list.get(i));
+    }
+  }
+
+  @Test
+  public void dropNewestOverflowPolicy() {
+    int bufferSize = 5;
+    int loopLen = bufferSize + 3;
+    asyncAppenderBase.addAppender(listAppender);
+    asyncAppenderBase.setQueueSize(bufferSize);
+    asyncAppenderBase.setOverflowPolicy(AsyncOverflowPolicy.DROP_NEWEST);
+    asyncAppenderBase.start();
+    asyncAppenderBase.worker.suspend();
+
+    for (int i = 0; i < loopLen; i++) {
+      asyncAppenderBase.doAppend(i);
+    }
+    assertEquals(3, asyncAppenderBase.getDroppedEventCount());
+
+    asyncAppenderBase.worker.resume();
+    asyncAppenderBase.stop();
+    verify(listAppender, bufferSize);
+    assertEquals(Integer.valueOf(0), listAppender.list.get(0));
+    statusChecker.assertContainsMatch("3 events were dropped");
+  }
+
+  @Test
+  public void dropOldestOverflowPolicy() {
+    int bufferSize = 5;
+    int loopLen = bufferSize + 3;
+    asyncAppenderBase.addAppender(listAppender);
+    asyncAppenderBase.setQueueSize(bufferSize);
+    asyncAppenderBase.setOverflowPolicy(AsyncOverflowPolicy.DROP_OLDEST);
+    asyncAppenderBase.start();
+    asyncAppenderBase.worker.suspend();
+
+    for (int i = 0; i < loopLen; i++) {
+      asyncAppenderBase.doAppend(i);
+    }
+    assertEquals(3, asyncAppenderBase.getDroppedEventCount());
+
+    asyncAppenderBase.worker.resume();
+    asyncAppenderBase.stop();
+    verify(listAppender, bufferSize);
+    assertEquals(Integer.valueOf(3), listAppender.list.get(0));
+  }
+
+  @Test
+  public void blockWithTimeoutOverflowPolicy() {
+    int bufferSize = 5;
+    int loopLen = bufferSize + 1;
+    asyncAppenderBase.addAppender(listAppender);
+    asyncAppenderBase.setQueueSize(bufferSize);
+    asyncAppenderBase.setOverflowPolicy(AsyncOverflowPolicy.BLOCK_WITH_TIMEOUT);
+    asyncAppenderBase.setOverflowTimeout(Duration.buildByMilliseconds(10));
+    asyncAppenderBase.start();
+    asyncAppenderBase.worker.suspend();
+
+    for (int i = 0; i < loopLen; i++) {
+      asyncAppenderBase.doAppend(i);
+    }
+    assertEquals(1, asyncAppenderBase.getDroppedEventCount());
+
+    asyncAppenderBase.worker.resume();
+    asyncAppenderBase.stop();
+    verify(listAppender, bufferSize);
+  }
+
+  @Test
+  public void dropOldestIsIncompatibleWithRingBuffer() {
+    asyncAppenderBase.addAppender(new NOPAppender<Integer>());
+    asyncAppenderBase.setQueueType(AsyncQueueType.RING_BUFFER);
+    asyncAppenderBase.setOverflowPolicy(AsyncOverflowPolicy.DROP_OLDEST);
+    asyncAppenderBase.start();
+    assertFalse(asyncAppenderBase.isStarted());
+    statusChecker.assertContainsMatch("Overflow policy .* is not supported by queue type");
+  }
+
+  @Test
+  public void invalidMaxBatchSizeShouldResultInNonStartedAppender() {
+    asyncAppenderBase.addAppender(new NOPAppender<Integer>());
+    asyncAppenderBase.setMaxBatchSize(0);
+    asyncAppenderBase.start();
+    assertFalse(asyncAppenderBase.isStarted());
+    statusChecker.assertContainsMatch("Invalid max batch size");
+  }
+
   @Test
   public void invalidQueueCapacityShouldResultInNonStartedAppender() {
     asyncAppenderBase.addAppender(new NOPAppender<Integer>());
@@ -158,6 +293,16 @@ public class AsyncAppenderBaseTest {
     assertFalse(asyncAppenderBase.isStarted());
     statusChecker.assertContainsMatch("Invalid queue size");
   }
+
+  @Test
+  public void ringBufferRequiresAtLeastTwoSlots() {
+    asyncAppenderBase.addAppender(new NOPAppender<Integer>());
+    asyncAppenderBase.setQueueType(AsyncQueueType.RING_BUFFER);
+    asyncAppenderBase.setQueueSize(1);
+    asyncAppenderBase.start();
+    assertFalse(asyncAppenderBase.isStarted());
+    statusChecker.assertContainsMatch("Queue type .* requires a queue size of at least 2");
+  }
   
   @Test
   public void workerThreadFlushesOnStop() {
@@ -204,8 +349,8 @@ public class AsyncAppenderBaseTest {
     //confirms that stop exited when runtime reached
     statusChecker.assertContainsMatch("Max queue flush timeout \\(" + maxRuntime + " ms\\) exceeded.");
 
-    //confirms that the number of events posted are the number of events removed from the queue
-    assertEquals(la.list.size(), loopLen - asyncAppenderBase.getNumberOfElementsInQueue());
+    //confirms that the number of events posted are the number of events handed over by the worker
+    assertEquals(la.list.size(), loopLen - asyncAppenderBase.getRemainingEventCount());
     
     //resume the thread to let it finish processing
     asyncAppenderBase.worker.resume();
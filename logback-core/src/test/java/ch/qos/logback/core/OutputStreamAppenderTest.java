@@ -14,16 +14,22 @@
 package ch.qos.logback.core;
 
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.layout.EchoLayout;
 import ch.qos.logback.core.pattern.parser.SamplePatternLayout;
+import ch.qos.logback.core.spi.FilterReply;
 
 public class OutputStreamAppenderTest {
 
@@ -82,6 +88,86 @@ public class OutputStreamAppenderTest {
     headerFooterCheck(FILE_HEADER, PRESENTATION_HEADER, PRESENTATION_FOOTER, FILE_FOOTER);
   }
   
+  @Test
+  public void batchIsWrittenInOrderAndFiltered() {
+    OutputStreamAppender<String> wa = new OutputStreamAppender<String>();
+    wa.setContext(context);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+    LayoutWrappingEncoder<String> encoder = new LayoutWrappingEncoder<String>();
+    encoder.setLayout(new EchoLayout<String>());
+    encoder.setContext(context);
+
+    wa.setEncoder(encoder);
+    wa.setOutputStream(baos);
+    wa.addFilter(new Filter<String>() {
+      public FilterReply decide(String event) {
+        return "b".equals(event) ? FilterReply.DENY : FilterReply.NEUTRAL;
+      }
+    });
+    wa.start();
+
+    List<String> eventList = new ArrayList<String>();
+    eventList.add("a");
+    eventList.add("b");
+    eventList.add("c");
+    wa.doAppend(eventList);
+    wa.stop();
+
+    String ls = CoreConstants.LINE_SEPARATOR;
+    assertEquals("a" + ls + "c" + ls, baos.toString());
+  }
+
+  @Test
+  public void nonFairLockingStrategy() throws InterruptedException {
+    concurrentAppendsAreAllWritten(LockingStrategy.NON_FAIR);
+  }
+
+  @Test
+  public void combiningLockingStrategy() throws InterruptedException {
+    concurrentAppendsAreAllWritten(LockingStrategy.COMBINING);
+  }
+
+  void concurrentAppendsAreAllWritten(LockingStrategy lockingStrategy) throws InterruptedException {
+    final OutputStreamAppender<String> wa = new OutputStreamAppender<String>();
+    wa.setContext(context);
+    wa.setLockingStrategy(lockingStrategy);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+    LayoutWrappingEncoder<String> encoder = new LayoutWrappingEncoder<String>();
+    encoder.setLayout(new EchoLayout<String>());
+    encoder.setContext(context);
+
+    wa.setEncoder(encoder);
+    wa.setOutputStream(baos);
+    wa.start();
+
+    final int threadCount = 8;
+    final int loopLen = 1000;
+    Thread[] threads = new Thread[threadCount];
+    for (int i = 0; i < threadCount; i++) {
+      final String event = "t" + i;
+      threads[i] = new Thread() {
+        public void run() {
+          for (int j = 0; j < loopLen; j++) {
+            wa.doAppend(event);
+          }
+        }
+      };
+      threads[i].start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    wa.stop();
+
+    String[] lines = baos.toString().split(CoreConstants.LINE_SEPARATOR);
+    assertEquals(threadCount * loopLen, lines.length);
+    for (String line : lines) {
+      assertTrue(line.matches("t[0-9]"));
+    }
+  }
+
   public void headerFooterCheck(String fileHeader, String presentationHeader, String presentationFooter, String fileFooter) {
     OutputStreamAppender<Object> wa = new OutputStreamAppender<Object>();
     wa.setContext(context);
@@ -18,6 +18,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import ch.qos.logback.core.status.StatusChecker;
@@ -25,12 +27,18 @@ import org.junit.Test;
 
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.MemoryMappedFileAppender;
 import ch.qos.logback.core.encoder.DummyEncoder;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
 import ch.qos.logback.core.encoder.NopEncoder;
+import ch.qos.logback.core.layout.EchoLayout;
 import ch.qos.logback.core.status.Status;
 import ch.qos.logback.core.status.StatusManager;
+import ch.qos.logback.core.testUtil.FileToBufferUtil;
 import ch.qos.logback.core.testUtil.RandomUtil;
 import ch.qos.logback.core.util.CoreTestConstants;
+import ch.qos.logback.core.util.Duration;
+import ch.qos.logback.core.util.FileSize;
 
 public class FileAppenderTest extends AbstractAppenderTest<Object> {
 
@@ -128,4 +136,195 @@ public class FileAppenderTest extends AbstractAppenderTest<Object> {
     assertTrue(file.exists());
     assertTrue("failed to delete " + file.getAbsolutePath(), file.delete());
   }
+
+  @Test
+  public void batchInPrudentMode() {
+    String filename = CoreTestConstants.OUTPUT_DIR_PREFIX + diff + "fat-batchInPrudentMode.txt";
+    File file = new File(filename);
+    FileAppender<Object> appender = new FileAppender<Object>();
+    appender.setEncoder(new DummyEncoder<Object>());
+    appender.setFile(filename);
+    appender.setName("batchInPrudentMode");
+    appender.setContext(context);
+    appender.setPrudent(true);
+    appender.start();
+
+    List<Object> eventList = new ArrayList<Object>();
+    for (int i = 0; i < 3; i++) {
+      eventList.add(new Object());
+    }
+    appender.doAppend(eventList);
+    appender.stop();
+
+    StatusChecker statusChecker = new StatusChecker(context);
+    statusChecker.assertIsErrorFree();
+    assertEquals(3 * DummyEncoder.DUMMY.length(), file.length());
+    assertTrue("failed to delete " + file.getAbsolutePath(), file.delete());
+  }
+
+  @Test
+  public void periodicFlush() throws InterruptedException {
+    String filename = CoreTestConstants.OUTPUT_DIR_PREFIX + diff + "fat-periodicFlush.txt";
+    File file = new File(filename);
+
+    LayoutWrappingEncoder<Object> encoder = new LayoutWrappingEncoder<Object>();
+    encoder.setLayout(new EchoLayout<Object>());
+    encoder.setContext(context);
+
+    FileAppender<Object> appender = new FileAppender<Object>();
+    appender.setEncoder(encoder);
+    appender.setFile(filename);
+    appender.setName("periodicFlush");
+    appender.setContext(context);
+    appender.setBufferSize(FileSize.valueOf("64 kb"));
+    appender.setFlushInterval(Duration.buildByMilliseconds(100));
+    appender.start();
+    assertFalse(encoder.isImmediateFlush());
+
+    appender.doAppend("hello");
+    assertEquals(0, file.length());
+    for (int i = 0; i < 50 && file.length() == 0; i++) {
+      Thread.sleep(100);
+    }
+    assertTrue(file.length() > 0);
+    appender.stop();
+
+    StatusChecker statusChecker = new StatusChecker(context);
+    statusChecker.assertIsErrorFree();
+    assertTrue("failed to delete " + file.getAbsolutePath(), file.delete());
+  }
+
+  @Test
+  public void invalidBufferSize() {
+    FileAppender<Object> appender = new FileAppender<Object>();
+    appender.setEncoder(new DummyEncoder<Object>());
+    appender.setFile(CoreTestConstants.OUTPUT_DIR_PREFIX + diff + "fat-invalidBufferSize.txt");
+    appender.setContext(context);
+    appender.setBufferSize(FileSize.valueOf("0"));
+    appender.start();
+    assertFalse(appender.isStarted());
+    new StatusChecker(context).assertContainsMatch("Invalid buffer size");
+  }
+
+  @Test
+  public void fileChannelOutput() throws IOException {
+    String filename = CoreTestConstants.OUTPUT_DIR_PREFIX + diff + "fat-fileChannelOutput.txt";
+    File file = new File(filename);
+
+    LayoutWrappingEncoder<Object> encoder = new LayoutWrappingEncoder<Object>();
+    encoder.setLayout(new EchoLayout<Object>());
+    encoder.setContext(context);
+
+    FileAppender<Object> appender = new FileAppender<Object>();
+    appender.setEncoder(encoder);
+    appender.setFile(filename);
+    appender.setName("fileChannelOutput");
+    appender.setContext(context);
+    appender.setUseFileChannel(true);
+    // small enough for some events to be written around the buffer
+    appender.setBufferSize(FileSize.valueOf("16"));
+    appender.start();
+
+    List<String> expected = new ArrayList<String>();
+    List<Object> eventList = new ArrayList<Object>();
+    for (int i = 0; i < 20; i++) {
+      StringBuilder event = new StringBuilder();
+      for (int j = 0; j <= i * 3; j++) {
+        event.append((char) ('a' + j % 26));
+      }
+      // odd events are appended as a single batch
+      if (i % 2 == 0) {
+        appender.doAppend(event.toString());
+        expected.add(event.toString());
+      } else {
+        eventList.add(event.toString());
+      }
+    }
+    appender.doAppend(eventList);
+    for (Object event : eventList) {
+      expected.add((String) event);
+    }
+    appender.stop();
+
+    StatusChecker statusChecker = new StatusChecker(context);
+    statusChecker.assertIsErrorFree();
+    List<String> lines = new ArrayList<String>();
+    FileToBufferUtil.readIntoList(file, lines);
+    assertEquals(expected, lines);
+    assertTrue("failed to delete " + file.getAbsolutePath(), file.delete());
+  }
+
+  @Test
+  public void memoryMappedOutput() throws IOException {
+    String filename = CoreTestConstants.OUTPUT_DIR_PREFIX + diff + "fat-memoryMappedOutput.txt";
+    File file = new File(filename);
+
+    LayoutWrappingEncoder<Object> encoder = new LayoutWrappingEncoder<Object>();
+    encoder.setLayout(new EchoLayout<Object>());
+    encoder.setContext(context);
+
+    FileAppender<Object> appender = new MemoryMappedFileAppender<Object>();
+    appender.setEncoder(encoder);
+    appender.setFile(filename);
+    appender.setName("memoryMappedOutput");
+    appender.setContext(context);
+    // small enough for some events to span several regions
+    appender.setMappedRegionLength(FileSize.valueOf("16"));
+    appender.start();
+
+    List<String> expected = new ArrayList<String>();
+    List<Object> eventList = new ArrayList<Object>();
+    for (int i = 0; i < 20; i++) {
+      StringBuilder event = new StringBuilder();
+      for (int j = 0; j <= i * 3; j++) {
+        event.append((char) ('a' + j % 26));
+      }
+      if (i % 2 == 0) {
+        appender.doAppend(event.toString());
+        expected.add(event.toString());
+      } else {
+        eventList.add(event.toString());
+      }
+    }
+    appender.doAppend(eventList);
+    for (Object event : eventList) {
+      expected.add((String) event);
+    }
+    appender.stop();
+
+    StatusChecker statusChecker = new StatusChecker(context);
+    statusChecker.assertIsErrorFree();
+    List<String> lines = new ArrayList<String>();
+    FileToBufferUtil.readIntoList(file, lines);
+    // the file must have been truncated to the bytes actually written
+    assertEquals(expected, lines);
+    assertTrue("failed to delete " + file.getAbsolutePath(), file.delete());
+  }
+
+  @Test
+  public void memoryMappedModeIsIncompatibleWithPrudentMode() {
+    FileAppender<Object> appender = new MemoryMappedFileAppender<Object>();
+    appender.setEncoder(new NopEncoder<Object>());
+    appender.setFile(CoreTestConstants.OUTPUT_DIR_PREFIX + diff + "fat-mmPrudent.txt");
+    appender.setContext(context);
+    appender.setPrudent(true);
+    appender.start();
+    assertFalse(appender.isStarted());
+    StatusChecker statusChecker = new StatusChecker(context);
+    statusChecker.assertContainsMatch(Status.ERROR, "Memory-mapped mode is not supported in prudent mode");
+  }
+
+  @Test
+  public void flushIntervalIsIncompatibleWithPrudentMode() {
+    FileAppender<Object> appender = new FileAppender<Object>();
+    appender.setEncoder(new NopEncoder<Object>());
+    appender.setFile(CoreTestConstants.OUTPUT_DIR_PREFIX + diff + "fat-flushIntervalPrudent.txt");
+    appender.setContext(context);
+    appender.setPrudent(true);
+    appender.setFlushInterval(Duration.buildByMilliseconds(100));
+    appender.start();
+    assertFalse(appender.isStarted());
+    StatusChecker statusChecker = new StatusChecker(context);
+    statusChecker.assertContainsMatch(Status.ERROR, "FlushInterval is not supported in prudent mode");
+  }
 }
@@ -0,0 +1,121 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.encoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import ch.qos.logback.core.AppendingLayout;
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.LayoutBase;
+import ch.qos.logback.core.layout.EchoLayout;
+
+public class LayoutWrappingEncoderTest {
+
+  Context context = new ContextBase();
+  LayoutWrappingEncoder<Object> encoder = new LayoutWrappingEncoder<Object>();
+  ByteArrayOutputStream baos = new ByteArrayOutputStream();
+  Charset utf8Charset = Charset.forName("UTF-8");
+
+  @Before
+  public void setUp() {
+    encoder.setContext(context);
+    encoder.setLayout(new EchoLayout<Object>());
+    encoder.setCharset(utf8Charset);
+    encoder.setReuseBuffers(true);
+    encoder.start();
+  }
+
+  @Test
+  public void reusedBuffersProduceSameBytes() throws IOException {
+    encoder.init(baos);
+    String msg = "hello \u03b1\u03b2\u03b3";
+    encoder.doEncode(msg);
+    encoder.doEncode(msg);
+    String expected = msg + CoreConstants.LINE_SEPARATOR;
+    assertEquals(expected + expected, new String(baos.toByteArray(), utf8Charset.name()));
+  }
+
+  @Test
+  public void eventsLargerThanTheByteBuffer() throws IOException {
+    encoder.init(baos);
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 3 * TextEncodingBuffer.BYTE_BUFFER_SIZE; i++) {
+      sb.append((char) ('a' + i % 26));
+    }
+    // larger than the byte buffer
+    encoder.doEncode(sb.toString());
+    // larger than the retained char capacity
+    String huge = sb.toString() + sb.toString() + sb.toString();
+    encoder.doEncode(huge);
+    encoder.doEncode("x");
+
+    String ls = CoreConstants.LINE_SEPARATOR;
+    String expected = sb.toString() + ls + huge + ls + "x" + ls;
+    assertEquals(expected, new String(baos.toByteArray(), utf8Charset.name()));
+  }
+
+  @Test
+  public void batchWithReusedBuffers() throws IOException {
+    encoder.init(baos);
+    List<Object> eventList = new ArrayList<Object>();
+    eventList.add("a");
+    eventList.add("\u03b1");
+    encoder.doEncode(eventList);
+    String ls = CoreConstants.LINE_SEPARATOR;
+    assertEquals("a" + ls + "\u03b1" + ls, new String(baos.toByteArray(), utf8Charset.name()));
+  }
+
+  @Test
+  public void overriddenDoLayoutIsNotBypassed() throws IOException {
+    AppendingEchoLayout appendingLayout = new AppendingEchoLayout();
+    assertSame(appendingLayout, LayoutWrappingEncoder.asAppendingLayout(appendingLayout));
+    UpperCaseLayout upperCaseLayout = new UpperCaseLayout();
+    assertNull(LayoutWrappingEncoder.asAppendingLayout(upperCaseLayout));
+
+    encoder.setLayout(upperCaseLayout);
+    encoder.init(baos);
+    encoder.doEncode("a");
+    assertEquals("A" + CoreConstants.LINE_SEPARATOR, new String(baos.toByteArray(), utf8Charset.name()));
+  }
+
+  static class AppendingEchoLayout extends LayoutBase<Object> implements AppendingLayout<Object> {
+    public String doLayout(Object event) {
+      return event + CoreConstants.LINE_SEPARATOR;
+    }
+
+    public void doLayout(Object event, StringBuilder buf) {
+      buf.append(event).append(CoreConstants.LINE_SEPARATOR);
+    }
+  }
+
+  static class UpperCaseLayout extends AppendingEchoLayout {
+    @Override
+    public String doLayout(Object event) {
+      return super.doLayout(event).toUpperCase();
+    }
+  }
+}
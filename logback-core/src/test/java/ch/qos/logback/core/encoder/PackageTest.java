@@ -17,6 +17,6 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses( { ByteArrayUtilTest.class, ObjectEncodeDecodeTest.class })
+@Suite.SuiteClasses( { ByteArrayUtilTest.class, ObjectEncodeDecodeTest.class, LayoutWrappingEncoderTest.class })
 public class PackageTest {
 }
@@ -0,0 +1,108 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.issue;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.LockingStrategy;
+import ch.qos.logback.core.contention.RunnableWithCounterAndDone;
+import ch.qos.logback.core.contention.ThreadedThroughputCalculator;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.layout.EchoLayout;
+import ch.qos.logback.core.util.CoreTestConstants;
+
+/**
+ * Compares the throughput of a shared {@link FileAppender} under each
+ * {@link LockingStrategy} for 1 to 64 threads.
+ */
+public class LockingStrategyThroughput {
+
+  static int[] THREAD_COUNTS = { 1, 2, 4, 8, 16, 32, 64 };
+  static long OVERALL_DURATION_IN_MILLIS = 3000;
+
+  public static void main(String args[]) throws InterruptedException {
+    ThreadedThroughputCalculator tp = new ThreadedThroughputCalculator(
+        OVERALL_DURATION_IN_MILLIS);
+    tp.printEnvironmentInfo("LockingStrategyThroughput");
+
+    for (LockingStrategy lockingStrategy : LockingStrategy.values()) {
+      FileAppender<Object> fileAppender = buildFileAppender(lockingStrategy);
+      // warm up
+      tp.execute(buildArray(fileAppender, 4));
+
+      for (int threadCount : THREAD_COUNTS) {
+        tp.execute(buildArray(fileAppender, threadCount));
+        tp.printThroughput(lockingStrategy + " threads=" + threadCount + ": ");
+      }
+      fileAppender.stop();
+    }
+  }
+
+  static FileAppender<Object> buildFileAppender(LockingStrategy lockingStrategy) {
+    Context context = new ContextBase();
+    LayoutWrappingEncoder<Object> encoder = new LayoutWrappingEncoder<Object>();
+    encoder.setContext(context);
+    encoder.setLayout(new EchoLayout<Object>());
+    encoder.start();
+
+    FileAppender<Object> fileAppender = new FileAppender<Object>();
+    fileAppender.setContext(context);
+    fileAppender.setLockingStrategy(lockingStrategy);
+    fileAppender.setEncoder(encoder);
+    fileAppender.setFile(CoreTestConstants.OUTPUT_DIR_PREFIX + "lockingStrategyThroughput.log");
+    fileAppender.setAppend(false);
+    fileAppender.start();
+    return fileAppender;
+  }
+
+  static AppendingRunnable[] buildArray(FileAppender<Object> fileAppender, int threadCount) {
+    AppendingRunnable[] array = new AppendingRunnable[threadCount];
+    for (int i = 0; i < threadCount; i++) {
+      array[i] = new AppendingRunnable(fileAppender);
+    }
+    return array;
+  }
+
+  static class AppendingRunnable extends RunnableWithCounterAndDone {
+    final FileAppender<Object> fileAppender;
+
+    AppendingRunnable(FileAppender<Object> fileAppender) {
+      this.fileAppender = fileAppender;
+    }
+
+    public void run() {
+      for (;;) {
+        fileAppender.doAppend("hello world, the count is " + counter);
+        counter++;
+        if (done) {
+          return;
+        }
+      }
+    }
+  }
+}
+
+// java.runtime.version = 17.0.9+9
+// os.name              = Linux, single CPU
+//
+// FAIR threads=1:       3582 operations per millisecond
+// FAIR threads=8:        657 operations per millisecond
+// FAIR threads=64:       598 operations per millisecond
+// NON_FAIR threads=1:   3736 operations per millisecond
+// NON_FAIR threads=8:   3694 operations per millisecond
+// NON_FAIR threads=64:  3689 operations per millisecond
+// COMBINING threads=1:  3206 operations per millisecond
+// COMBINING threads=8:  3138 operations per millisecond
+// COMBINING threads=64: 3054 operations per millisecond
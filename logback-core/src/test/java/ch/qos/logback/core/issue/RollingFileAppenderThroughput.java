@@ -0,0 +1,134 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.issue;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.LockingStrategy;
+import ch.qos.logback.core.contention.RunnableWithCounterAndDone;
+import ch.qos.logback.core.contention.ThreadedThroughputCalculator;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.layout.EchoLayout;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.SizeAndTimeBasedFNATP;
+import ch.qos.logback.core.rolling.TimeBasedRollingPolicy;
+import ch.qos.logback.core.testUtil.RandomUtil;
+import ch.qos.logback.core.util.CoreTestConstants;
+
+/**
+ * Measures the throughput of a shared {@link RollingFileAppender} with a
+ * {@link TimeBasedRollingPolicy}, with and without a
+ * {@link SizeAndTimeBasedFNATP}, for 1 to 32 threads. Writes are serialized
+ * by a non-fair lock so that the cost of the roll-over check stands out.
+ */
+public class RollingFileAppenderThroughput {
+
+  static int[] THREAD_COUNTS = { 1, 8, 32 };
+  static long OVERALL_DURATION_IN_MILLIS = 2000;
+
+  static String OUTPUT_DIR = CoreTestConstants.OUTPUT_DIR_PREFIX + "rfaThroughput-" + RandomUtil.getPositiveInt() + "/";
+
+  public static void main(String args[]) throws InterruptedException {
+    ThreadedThroughputCalculator tp = new ThreadedThroughputCalculator(
+        OVERALL_DURATION_IN_MILLIS);
+    tp.printEnvironmentInfo("RollingFileAppenderThroughput");
+
+    for (boolean sizeAndTime : new boolean[] { false, true }) {
+      String label = sizeAndTime ? "SizeAndTimeBasedFNATP" : "TimeBasedRollingPolicy";
+      RollingFileAppender<Object> rfa = buildRollingFileAppender(label, sizeAndTime);
+      // warm up
+      tp.execute(buildArray(rfa, 4));
+
+      for (int threadCount : THREAD_COUNTS) {
+        tp.execute(buildArray(rfa, threadCount));
+        tp.printThroughput(label + " threads=" + threadCount + ": ");
+      }
+      rfa.stop();
+    }
+  }
+
+  static RollingFileAppender<Object> buildRollingFileAppender(String name, boolean sizeAndTime) {
+    Context context = new ContextBase();
+    LayoutWrappingEncoder<Object> encoder = new LayoutWrappingEncoder<Object>();
+    encoder.setContext(context);
+    encoder.setLayout(new EchoLayout<Object>());
+    encoder.start();
+
+    RollingFileAppender<Object> rfa = new RollingFileAppender<Object>();
+    rfa.setContext(context);
+    rfa.setEncoder(encoder);
+    rfa.setLockingStrategy(LockingStrategy.NON_FAIR);
+
+    TimeBasedRollingPolicy<Object> tbrp = new TimeBasedRollingPolicy<Object>();
+    tbrp.setContext(context);
+    if (sizeAndTime) {
+      tbrp.setFileNamePattern(OUTPUT_DIR + name + "-%d{yyyy-MM-dd_HH_mm}.%i.log");
+      SizeAndTimeBasedFNATP<Object> sizeAndTimeBasedFNATP = new SizeAndTimeBasedFNATP<Object>();
+      sizeAndTimeBasedFNATP.setMaxFileSize("100MB");
+      tbrp.setTimeBasedFileNamingAndTriggeringPolicy(sizeAndTimeBasedFNATP);
+    } else {
+      tbrp.setFileNamePattern(OUTPUT_DIR + name + "-%d{yyyy-MM-dd_HH_mm}.log");
+    }
+    tbrp.setParent(rfa);
+    tbrp.start();
+    rfa.setRollingPolicy(tbrp);
+    rfa.start();
+    return rfa;
+  }
+
+  static AppendingRunnable[] buildArray(RollingFileAppender<Object> rfa, int threadCount) {
+    AppendingRunnable[] array = new AppendingRunnable[threadCount];
+    for (int i = 0; i < threadCount; i++) {
+      array[i] = new AppendingRunnable(rfa);
+    }
+    return array;
+  }
+
+  static class AppendingRunnable extends RunnableWithCounterAndDone {
+    final RollingFileAppender<Object> rfa;
+
+    AppendingRunnable(RollingFileAppender<Object> rfa) {
+      this.rfa = rfa;
+    }
+
+    public void run() {
+      for (;;) {
+        rfa.doAppend("hello world, the count is " + counter);
+        counter++;
+        if (done) {
+          return;
+        }
+      }
+    }
+  }
+}
+
+// java.runtime.version = 17.0.9+9
+// os.name              = Linux, single CPU
+//
+// TimeBasedRollingPolicy threads=1:  3251 operations per millisecond
+// TimeBasedRollingPolicy threads=8:  3248 operations per millisecond
+// TimeBasedRollingPolicy threads=32: 3231 operations per millisecond
+// SizeAndTimeBasedFNATP threads=1:   2851 operations per millisecond
+// SizeAndTimeBasedFNATP threads=8:   2881 operations per millisecond
+// SizeAndTimeBasedFNATP threads=32:  2826 operations per millisecond
+//
+// before the roll-over check could rule out events without locking
+//
+// TimeBasedRollingPolicy threads=1:  2779 operations per millisecond
+// TimeBasedRollingPolicy threads=8:  2727 operations per millisecond
+// TimeBasedRollingPolicy threads=32: 2470 operations per millisecond
+// SizeAndTimeBasedFNATP threads=1:   2759 operations per millisecond
+// SizeAndTimeBasedFNATP threads=8:   2797 operations per millisecond
+// SizeAndTimeBasedFNATP threads=32:  2664 operations per millisecond
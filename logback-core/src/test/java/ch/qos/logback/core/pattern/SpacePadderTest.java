@@ -104,4 +104,17 @@ public class SpacePadderTest {
     
   }
 
+
+  @Test
+  public void leftPadInPlace() {
+    for (int i = 0; i < 70; i++) {
+      StringBuilder buf = new StringBuilder("prefix:");
+      int start = buf.length();
+      buf.append("a");
+      SpacePadder.leftPad(buf, start, i);
+      StringBuilder expected = new StringBuilder("prefix:");
+      SpacePadder.leftPad(expected, "a", i);
+      assertEquals(expected.toString(), buf.toString());
+    }
+  }
 }
@@ -23,6 +23,12 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -62,4 +68,35 @@ public class ResilientOutputStreamTest {
 
    }
 
+   @Test
+   public void wrapperIsAppliedAgainOnRecovery() throws Exception {
+     File file = new File(CoreTestConstants.OUTPUT_DIR_PREFIX+"resilientWrapped"+diff+".log");
+     ResilientFileOutputStream rfos = new ResilientFileOutputStream(file, false);
+     rfos.setContext(context);
+     final List<OutputStream> wrappedList = new ArrayList<OutputStream>();
+     rfos.setWrapper(new OutputStreamWrapper() {
+       public OutputStream wrap(OutputStream out) {
+         wrappedList.add(out);
+         return out;
+       }
+     });
+     assertEquals(1, wrappedList.size());
+
+     rfos.write("a".getBytes());
+     rfos.flush();
+     assertEquals(1, rfos.getLength());
+
+     rfos.getChannel().close();
+     rfos.write("b".getBytes());
+     rfos.flush();
+     Thread.sleep(RecoveryCoordinator.BACKOFF_COEFFICIENT_MIN+10);
+     rfos.write("c".getBytes());
+     rfos.write("d".getBytes());
+     rfos.close();
+
+     assertEquals(2, wrappedList.size());
+     assertNotSame(wrappedList.get(0), wrappedList.get(1));
+     assertEquals(2, file.length());
+   }
+
 }
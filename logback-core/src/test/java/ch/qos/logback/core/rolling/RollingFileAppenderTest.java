@@ -18,15 +18,24 @@ import ch.qos.logback.core.Context;
 import ch.qos.logback.core.ContextBase;
 import ch.qos.logback.core.appender.AbstractAppenderTest;
 import ch.qos.logback.core.encoder.DummyEncoder;
+import ch.qos.logback.core.encoder.EchoEncoder;
 import ch.qos.logback.core.status.Status;
 import ch.qos.logback.core.status.StatusChecker;
+import ch.qos.logback.core.testUtil.FileToBufferUtil;
 import ch.qos.logback.core.testUtil.RandomUtil;
 import ch.qos.logback.core.util.CoreTestConstants;
+import ch.qos.logback.core.util.FileSize;
 import ch.qos.logback.core.util.StatusPrinter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.Assert.*;
 
 public class RollingFileAppenderTest extends AbstractAppenderTest<Object> {
@@ -159,6 +168,19 @@ public class RollingFileAppenderTest extends AbstractAppenderTest<Object> {
 
   }
 
+  @Test
+  public void missingCodecLibraryPreventsStart() {
+    tbrp.setFileNamePattern(CoreTestConstants.OUTPUT_DIR_PREFIX + "toto-%d.log.zst");
+    try {
+      tbrp.start();
+      fail("expected IllegalStateException");
+    } catch (IllegalStateException e) {
+    }
+    assertFalse(tbrp.isStarted());
+    StatusChecker checker = new StatusChecker(context);
+    checker.assertContainsMatch(Status.ERROR, ".*zstd-jni");
+  }
+
   @Test
   public void stopFixedWindowRollingPolicy() {
     rfa.setContext(context);
@@ -207,4 +229,89 @@ public class RollingFileAppenderTest extends AbstractAppenderTest<Object> {
     assertTrue("Missing error: " + msg, containsMatch);
   }
 
+  @Test
+  public void memoryMappedRollover() throws IOException {
+    rfa.setContext(context);
+    rfa.setEncoder(new EchoEncoder<Object>());
+    rfa.setFile(randomOutputDir + "mapped.log");
+    rfa.setMemoryMapped(true);
+    rfa.setMappedRegionLength(FileSize.valueOf("16"));
+
+    FixedWindowRollingPolicy fwRollingPolicy = new FixedWindowRollingPolicy();
+    fwRollingPolicy.setContext(context);
+    fwRollingPolicy.setFileNamePattern(randomOutputDir + "mapped-%i.log");
+    fwRollingPolicy.setParent(rfa);
+    fwRollingPolicy.start();
+    TriggeringPolicyBase<Object> rollOnMarker = new TriggeringPolicyBase<Object>() {
+      public boolean isTriggeringEvent(File activeFile, Object event) {
+        return "marker".equals(event);
+      }
+    };
+    rollOnMarker.start();
+    rfa.setRollingPolicy(fwRollingPolicy);
+    rfa.setTriggeringPolicy(rollOnMarker);
+    rfa.start();
+
+    rfa.doAppend("before rollover");
+    rfa.doAppend("marker");
+    rfa.doAppend("after rollover");
+    rfa.stop();
+
+    StatusChecker statusChecker = new StatusChecker(context);
+    statusChecker.assertIsErrorFree();
+    List<String> lines = new ArrayList<String>();
+    FileToBufferUtil.readIntoList(new File(randomOutputDir + "mapped-1.log"), lines);
+    assertEquals(Arrays.asList("before rollover"), lines);
+    lines.clear();
+    FileToBufferUtil.readIntoList(new File(randomOutputDir + "mapped.log"), lines);
+    assertEquals(Arrays.asList("marker", "after rollover"), lines);
+  }
+
+  @Test
+  public void triggeringEventsAreConfirmedOnlyWhenTheyMayTrigger() throws IOException {
+    rfa.setContext(context);
+    rfa.setEncoder(new EchoEncoder<Object>());
+    rfa.setFile(randomOutputDir + "precheck.log");
+
+    FixedWindowRollingPolicy fwRollingPolicy = new FixedWindowRollingPolicy();
+    fwRollingPolicy.setContext(context);
+    fwRollingPolicy.setFileNamePattern(randomOutputDir + "precheck-%i.log");
+    fwRollingPolicy.setParent(rfa);
+    fwRollingPolicy.start();
+    final List<Object> checkedEvents = new ArrayList<Object>();
+    RollOnMarkerPolicy rollOnMarker = new RollOnMarkerPolicy(checkedEvents);
+    rollOnMarker.start();
+    rfa.setRollingPolicy(fwRollingPolicy);
+    rfa.setTriggeringPolicy(rollOnMarker);
+    rfa.start();
+
+    rfa.doAppend("before rollover");
+    rfa.doAppend("marker");
+    rfa.doAppend("after rollover");
+    rfa.stop();
+
+    StatusChecker statusChecker = new StatusChecker(context);
+    statusChecker.assertIsErrorFree();
+    assertEquals(Arrays.<Object>asList("marker"), checkedEvents);
+    List<String> lines = new ArrayList<String>();
+    FileToBufferUtil.readIntoList(new File(randomOutputDir + "precheck-1.log"), lines);
+    assertEquals(Arrays.asList("before rollover"), lines);
+  }
+
+  static class RollOnMarkerPolicy extends TriggeringPolicyBase<Object> implements LockFreeTriggeringPolicy<Object> {
+    final List<Object> checkedEvents;
+
+    RollOnMarkerPolicy(List<Object> checkedEvents) {
+      this.checkedEvents = checkedEvents;
+    }
+
+    public boolean mayTrigger(File activeFile, Object event) {
+      return "marker".equals(event);
+    }
+
+    public boolean isTriggeringEvent(File activeFile, Object event) {
+      checkedEvents.add(event);
+      return "marker".equals(event);
+    }
+  }
 }
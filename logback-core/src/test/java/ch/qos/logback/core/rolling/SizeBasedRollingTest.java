@@ -18,6 +18,10 @@ import ch.qos.logback.core.util.CoreTestConstants;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -115,4 +119,31 @@ public class SizeBasedRollingTest extends ScaffoldingForRollingTests {
     List<String> zipFiles = filterElementsInListBySuffix(".zip");
     zipEntryNameCheck(zipFiles, "sbr-zipped.20\\d{2}-\\d{2}-\\d{2}_\\d{4}");
   }
+
+  @Test
+  public void rolloverIsExactToTheEvent() {
+    initRFA(randomOutputDir + "a-sizeBased-exact.log");
+    sizeBasedTriggeringPolicy.setMaxFileSize("100");
+    fwrp.setMinIndex(0);
+    fwrp.setFileNamePattern(randomOutputDir + "sizeBased-exact.%i");
+    rfa.setTriggeringPolicy(sizeBasedTriggeringPolicy);
+    rfa.setRollingPolicy(fwrp);
+    fwrp.start();
+    sizeBasedTriggeringPolicy.start();
+    rfa.start();
+
+    // each event is 7 or 8 bytes long, including the line separator
+    String prefix = "hello";
+    int runLength = 40;
+    for (int i = 0; i < runLength; i++) {
+      rfa.doAppend(prefix + i);
+    }
+    assertEquals(new File(randomOutputDir + "a-sizeBased-exact.log").length(), rfa.getFileLength());
+    rfa.stop();
+
+    for (int i = 0; i < 2; i++) {
+      long length = new File(randomOutputDir + "sizeBased-exact." + i).length();
+      assertTrue("unexpected length " + length, length >= 100 && length < 100 + 8);
+    }
+  }
 }
@@ -21,9 +21,16 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * A rather exhaustive set of tests. Tests include leaving the file option
@@ -207,6 +214,61 @@ public class TimeBasedRollingTest extends ScaffoldingForRollingTests {
     defaultTest("test8", "%d{yyyy-MM-dd, aux}/", ".zip", FILE_OPTION_SET, NO_RESTART);
   }
 
+  @Test
+  public void compressOnWrite_FileBlank() throws IOException {
+    compressOnWriteTest("test2", FILE_OPTION_BLANK);
+  }
+
+  @Test
+  public void compressOnWrite_FileSet() throws IOException {
+    compressOnWriteTest("test6", FILE_OPTION_SET);
+  }
+
+  // the witness files of compressed tests are reused
+  void compressOnWriteTest(String witnessTestId, boolean fileOptionIsSet) throws IOException {
+    String testId = "cow-" + witnessTestId;
+    String fileName = fileOptionIsSet ? testId2FileName(testId) + ".gz" : null;
+    initRFA(rfa1, fileName);
+    tbrp1.setCompressOnWrite(true);
+
+    String fileNamePatternStr = randomOutputDir + testId + "-%d{" + DATE_PATTERN_WITH_SECONDS + "}.gz";
+    initTRBP(rfa1, tbrp1, fileNamePatternStr, currentTime);
+    assertEquals(RollingFileAppender.DEFAULT_COMPRESS_ON_WRITE_FLUSH_INTERVAL, rfa1.getFlushInterval());
+    addExpectedFileName_ByDate(fileNamePatternStr, getMillisOfCurrentPeriodsStart());
+
+    incCurrentTime(1100);
+    tbrp1.timeBasedFileNamingAndTriggeringPolicy.setCurrentTime(currentTime);
+
+    for (int i = 0; i < 3; i++) {
+      rfa1.doAppend("Hello---" + i);
+      addExpectedFileNamedIfItsTime_ByDate(fileNamePatternStr);
+      incCurrentTime(500);
+      tbrp1.timeBasedFileNamingAndTriggeringPolicy.setCurrentTime(currentTime);
+    }
+    rfa1.stop();
+
+    // rollover did not involve any compression job
+    assertNull(tbrp1.future);
+    // the active file was compressed as well
+    String activeFileName = rfa1.getFile();
+    String uncompressedFileName = activeFileName.substring(0, activeFileName.length() - 3);
+    gunzip(activeFileName, uncompressedFileName);
+    massageExpectedFilesToCorresponToCurrentTarget(uncompressedFileName, fileOptionIsSet);
+    new DefaultRolloverChecker(witnessTestId, true, ".gz").check(expectedFilenameList);
+  }
+
+  static void gunzip(String gzFileName, String fileName) throws IOException {
+    InputStream in = new GZIPInputStream(new FileInputStream(gzFileName));
+    OutputStream out = new FileOutputStream(fileName);
+    byte[] buf = new byte[1024];
+    int n;
+    while ((n = in.read(buf)) != -1) {
+      out.write(buf, 0, n);
+    }
+    in.close();
+    out.close();
+  }
+
   @Test
   public void failed_rename() throws IOException {
     if (!EnvUtilForTests.isWindows())
@@ -13,11 +13,16 @@
  */
 package ch.qos.logback.core.rolling.helper;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -27,6 +32,7 @@ import org.junit.Test;
 
 import ch.qos.logback.core.Context;
 import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.status.Status;
 import ch.qos.logback.core.status.StatusChecker;
 import ch.qos.logback.core.util.Compare;
 import ch.qos.logback.core.util.CoreTestConstants;
@@ -109,6 +115,23 @@ public class CompressTest {
         + "witness/compress2.txt.gz"));
   }
 
+  @Test
+  public void gzipInParallelBlocks() throws Exception {
+    context.putProperty(CompressionExecutor.THREAD_COUNT_PROPERTY, "2");
+    Compressor compressor = new Compressor(CompressionMode.GZ);
+    compressor.setContext(context);
+    compressor.setParallelThreshold(0);
+    compressor.compress(CoreTestConstants.TEST_SRC_PREFIX
+        + "input/compress1.txt", CoreTestConstants.OUTPUT_DIR_PREFIX
+        + "compress1.txt.gz", null);
+
+    StatusChecker checker = new StatusChecker(context);
+    assertTrue(checker.isErrorFree(0));
+    assertTrue(Compare.gzCompare(CoreTestConstants.OUTPUT_DIR_PREFIX
+        + "compress1.txt.gz", CoreTestConstants.TEST_SRC_PREFIX
+        + "witness/compress1.txt.gz"));
+  }
+
   @Test
   public void test3() throws Exception {
     Compressor compressor = new Compressor(CompressionMode.ZIP);
@@ -125,6 +148,72 @@ public class CompressTest {
     // + "witness/compress3.txt.zip"));
   }
 
+  @Test
+  public void gzipAtGivenLevel() throws Exception {
+    Compressor compressor = new Compressor(CompressionMode.GZ);
+    compressor.setContext(context);
+    compressor.setCompressionLevel(1);
+    compressor.compress(CoreTestConstants.TEST_SRC_PREFIX
+        + "input/compress2.txt", CoreTestConstants.OUTPUT_DIR_PREFIX
+        + "compress2.txt", null);
+
+    StatusChecker checker = new StatusChecker(context);
+    assertTrue(checker.isErrorFree(0));
+    assertTrue(Compare.gzCompare(CoreTestConstants.OUTPUT_DIR_PREFIX
+        + "compress2.txt.gz", CoreTestConstants.TEST_SRC_PREFIX
+        + "witness/compress2.txt.gz"));
+  }
+
+  @Test
+  public void missingCodecLibraryLeavesFileUncompressed() throws Exception {
+    assertFalse(CompressionMode.ZSTD.getCodec().isAvailable());
+    String nameOfFile2Compress = CoreTestConstants.TEST_SRC_PREFIX + "input/compress1.txt";
+    Compressor compressor = new Compressor(CompressionMode.ZSTD);
+    compressor.setContext(context);
+    compressor.compress(nameOfFile2Compress, CoreTestConstants.OUTPUT_DIR_PREFIX
+        + "compress1.txt", null);
+
+    StatusChecker checker = new StatusChecker(context);
+    checker.assertContainsMatch(Status.ERROR, ".*zstd-jni was not found on the class path");
+    assertTrue(new File(nameOfFile2Compress).exists());
+    assertFalse(new File(CoreTestConstants.OUTPUT_DIR_PREFIX + "compress1.txt.zst").exists());
+  }
+
+  @Test
+  public void codecStreamIsLoadedReflectively() throws Exception {
+    ZstdCodec codec = new ZstdCodec(LevelRecordingOutputStream.class.getName());
+    assertTrue(codec.isAvailable());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    LevelRecordingOutputStream os = (LevelRecordingOutputStream) codec.newOutputStream(out, CompressionCodec.DEFAULT_LEVEL);
+    assertEquals(CompressionCodec.DEFAULT_LEVEL, os.level);
+    os = (LevelRecordingOutputStream) codec.newOutputStream(out, 7);
+    assertEquals(7, os.level);
+    assertSame(out, os.target);
+  }
+
+  @Test
+  public void suffixIsRemovedFromFileNamePattern() {
+    assertEquals("foo-%d", Compressor.computeFileNameStr_WCS("foo-%d.zst", CompressionMode.ZSTD));
+    assertEquals("foo-%d", Compressor.computeFileNameStr_WCS("foo-%d.lz4", CompressionMode.LZ4));
+    assertEquals("foo-%d.log", Compressor.computeFileNameStr_WCS("foo-%d.log", CompressionMode.LZ4));
+  }
+
+  public static class LevelRecordingOutputStream extends FilterOutputStream {
+    final OutputStream target;
+    final int level;
+
+    public LevelRecordingOutputStream(OutputStream out) {
+      this(out, CompressionCodec.DEFAULT_LEVEL);
+    }
+
+    public LevelRecordingOutputStream(OutputStream out, int level) {
+      super(out);
+      this.target = out;
+      this.level = level;
+    }
+  }
+
   private void copy(File src, File dst) throws IOException {
     InputStream in = new FileInputStream(src);
     OutputStream out = new FileOutputStream(dst);
@@ -0,0 +1,107 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import ch.qos.logback.core.ContextBase;
+
+public class CompressionExecutorTest {
+
+  ContextBase context = new ContextBase();
+
+  @Test
+  public void instanceIsSharedWithinAContext() {
+    context.putProperty(CompressionExecutor.THREAD_COUNT_PROPERTY, "3");
+    CompressionExecutor executor = CompressionExecutor.getInstance(context);
+    assertSame(executor, CompressionExecutor.getInstance(context));
+    assertEquals(3, executor.getThreadCount());
+  }
+
+  @Test
+  public void stoppedExecutorIsReplaced() {
+    CompressionExecutor executor = CompressionExecutor.getInstance(context);
+    executor.stop();
+    assertFalse(executor.isStarted());
+    CompressionExecutor replacement = CompressionExecutor.getInstance(context);
+    assertTrue(replacement.isStarted());
+    assertTrue(replacement != executor);
+  }
+
+  @Test
+  public void pendingJobsRunByPriority() throws Exception {
+    CompressionExecutor executor = new CompressionExecutor();
+    executor.setContext(context);
+    executor.setThreadCount(1);
+    executor.start();
+
+    final CountDownLatch blocker = new CountDownLatch(1);
+    executor.submit(new Runnable() {
+      public void run() {
+        try {
+          blocker.await();
+        } catch (InterruptedException e) {
+        }
+      }
+    }, 0);
+
+    final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+    List<Future<?>> futures = new ArrayList<Future<?>>();
+    int[] priorities = { 0, 5, 0, CompressionExecutor.BLOCK_PRIORITY, -1, 5 };
+    for (int i = 0; i < priorities.length; i++) {
+      final int id = i;
+      futures.add(executor.submit(new Runnable() {
+        public void run() {
+          order.add(id);
+        }
+      }, priorities[i]));
+    }
+    blocker.countDown();
+    for (Future<?> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    executor.stop();
+    assertEquals(Arrays.asList(3, 1, 5, 0, 2, 4), order);
+  }
+
+  @Test
+  public void jobsSubmittedAfterStopRunInline() throws Exception {
+    CompressionExecutor executor = new CompressionExecutor();
+    executor.setContext(context);
+    executor.start();
+    executor.stop();
+
+    final Thread[] runner = new Thread[1];
+    Future<?> future = executor.submit(new Runnable() {
+      public void run() {
+        runner[0] = Thread.currentThread();
+      }
+    }, 0);
+    assertTrue(future.isDone());
+    assertSame(Thread.currentThread(), runner[0]);
+  }
+}
@@ -0,0 +1,74 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class GzipMemberOutputStreamTest {
+
+  ByteArrayOutputStream target = new ByteArrayOutputStream();
+  GzipMemberOutputStream gzos = new GzipMemberOutputStream(target, CompressionCodec.DEFAULT_LEVEL);
+
+  @Test
+  public void flushedDataCanBeReadBack() throws IOException {
+    gzos.write("hello ".getBytes());
+    gzos.flush();
+    assertEquals("hello ", gunzip());
+
+    gzos.write("world".getBytes());
+    gzos.write('!');
+    gzos.flush();
+    assertEquals("hello world!", gunzip());
+  }
+
+  @Test
+  public void flushWithoutDataWritesNothing() throws IOException {
+    gzos.flush();
+    assertEquals(0, target.size());
+    gzos.write("a".getBytes());
+    gzos.flush();
+    int size = target.size();
+    gzos.flush();
+    assertEquals(size, target.size());
+  }
+
+  @Test
+  public void closingAnEmptyStreamYieldsAValidGzipFile() throws IOException {
+    gzos.close();
+    assertTrue(target.size() > 0);
+    assertEquals("", gunzip());
+  }
+
+  @Test
+  public void closeEndsTheLastMember() throws IOException {
+    byte[] line = "2015-03-01 12:00:00 INFO  c.q.l.Foo - message\n".getBytes();
+    for (int i = 0; i < 1000; i++) {
+      gzos.write(line);
+    }
+    gzos.close();
+    String content = gunzip();
+    assertEquals(1000 * line.length, content.length());
+    assertTrue(target.size() < line.length * 10);
+  }
+
+  String gunzip() throws IOException {
+    return new String(ParallelGzipCompressorTest.gunzip(target.toByteArray()));
+  }
+}
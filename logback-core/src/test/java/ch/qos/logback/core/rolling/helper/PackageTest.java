@@ -20,7 +20,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses( { CompressTest.class, FileNamePatternTest.class,
+@Suite.SuiteClasses( { CompressTest.class, CompressionExecutorTest.class,
+    ParallelGzipCompressorTest.class, GzipMemberOutputStreamTest.class, FileNamePatternTest.class,
     RollingCalendarTest.class, DatePatternToRegexTest.class })
 public class PackageTest extends TestCase {
 
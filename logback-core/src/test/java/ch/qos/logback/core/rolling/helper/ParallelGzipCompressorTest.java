@@ -0,0 +1,115 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ch.qos.logback.core.ContextBase;
+
+public class ParallelGzipCompressorTest {
+
+  static final int BLOCK_SIZE = 1000;
+
+  ContextBase context = new ContextBase();
+  CompressionExecutor executor = new CompressionExecutor();
+
+  @Before
+  public void setUp() {
+    executor.setContext(context);
+    executor.setThreadCount(3);
+    executor.start();
+  }
+
+  @After
+  public void tearDown() {
+    executor.stop();
+  }
+
+  @Test
+  public void emptyInputYieldsEmptyMember() throws IOException {
+    byte[] compressed = compress(new byte[0]);
+    assertTrue(compressed.length > 0);
+    assertEquals(0, gunzip(compressed).length);
+  }
+
+  @Test
+  public void outputIsAValidGzipStream() throws IOException {
+    for (int length : new int[] { 1, BLOCK_SIZE - 1, BLOCK_SIZE, BLOCK_SIZE + 1, 57 * BLOCK_SIZE + 13 }) {
+      byte[] input = logLikeBytes(length);
+      byte[] compressed = compress(input);
+      assertTrue(compressed.length < length || length < BLOCK_SIZE);
+      assertArrayEquals(input, gunzip(compressed));
+    }
+  }
+
+  @Test
+  public void compressionCompletesWithoutIdleThreads() throws Exception {
+    final Object lock = new Object();
+    // occupy all the threads of the executor
+    synchronized (lock) {
+      for (int i = 0; i < executor.getThreadCount(); i++) {
+        executor.submit(new Runnable() {
+          public void run() {
+            synchronized (lock) {
+            }
+          }
+        }, 0);
+      }
+      byte[] input = logLikeBytes(10 * BLOCK_SIZE);
+      assertArrayEquals(input, gunzip(compress(input)));
+    }
+  }
+
+  byte[] compress(byte[] input) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new ParallelGzipCompressor(executor, executor.getThreadCount(), CompressionCodec.DEFAULT_LEVEL, BLOCK_SIZE).compress(new ByteArrayInputStream(input), out);
+    return out.toByteArray();
+  }
+
+  static byte[] gunzip(byte[] compressed) throws IOException {
+    InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buf = new byte[512];
+    int n;
+    while ((n = in.read(buf)) != -1) {
+      out.write(buf, 0, n);
+    }
+    in.close();
+    return out.toByteArray();
+  }
+
+  static byte[] logLikeBytes(int length) {
+    Random random = new Random(length);
+    byte[] bytes = new byte[length];
+    String line = "2015-03-01 12:00:00 INFO  c.q.l.Foo - message ";
+    for (int i = 0; i < length; i++) {
+      int k = i % (line.length() + 4);
+      bytes[i] = (byte) (k < line.length() ? line.charAt(k) : (k == line.length() + 3 ? '\n' : '0' + random.nextInt(10)));
+    }
+    return bytes;
+  }
+}
@@ -14,19 +14,27 @@
 package ch.qos.logback.core.spi;
 
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import ch.qos.logback.core.helpers.NOPAppender;
+import ch.qos.logback.core.status.Status;
+import ch.qos.logback.core.status.StatusChecker;
 
 /**
  * This test case verifies all the methods of AppenderAttableImpl work properly.
@@ -162,6 +170,49 @@ public class AppenderAttachableImplTest {
     assertFalse( aai.detachAppender("test1"));
   }
 
+  @Test
+  public void batchesReachOtherAppendersEventByEvent() {
+    final List<TestEvent> received = new ArrayList<TestEvent>();
+    UnsynchronizedAppenderBase<TestEvent> ta = new UnsynchronizedAppenderBase<TestEvent>() {
+      @Override
+      public void doAppend(TestEvent event) {
+        received.add(event);
+      }
+
+      @Override
+      protected void append(TestEvent event) {
+      }
+    };
+    ta.start();
+    aai.addAppender(ta);
+    List<TestEvent> batch = Arrays.asList(new TestEvent(), new TestEvent(), new TestEvent());
+    assertEquals(1, aai.appendLoopOnAppenders(batch));
+    assertEquals(batch, received);
+  }
+
+  @Test
+  public void failureToAppendAnEventSparesTheRestOfTheBatch() {
+    final TestEvent failing = new TestEvent();
+    final List<TestEvent> appended = new ArrayList<TestEvent>();
+    UnsynchronizedAppenderBase<TestEvent> ta = new UnsynchronizedAppenderBase<TestEvent>() {
+      @Override
+      protected void append(TestEvent event) {
+        if (event == failing) {
+          throw new IllegalStateException("failing event");
+        }
+        appended.add(event);
+      }
+    };
+    ContextBase context = new ContextBase();
+    ta.setContext(context);
+    ta.start();
+    TestEvent first = new TestEvent();
+    TestEvent last = new TestEvent();
+    ta.doAppend(Arrays.asList(first, failing, last));
+    assertEquals(Arrays.asList(first, last), appended);
+    new StatusChecker(context).assertContainsMatch(Status.ERROR, "Appender \\[null\\] failed to append.");
+  }
+
   private static class TestEvent {
 
   }
@@ -26,6 +26,7 @@ import org.junit.runners.Suite.SuiteClasses;
   StatusPrinterTest.class,
   TimeUtilTest.class,
   ContentTypeUtilTest.class,
-  CharSequenceToRegexMapperTest.class})
+  CharSequenceToRegexMapperTest.class,
+  RingBufferBlockingQueueTest.class})
 public class PackageTest {
 }
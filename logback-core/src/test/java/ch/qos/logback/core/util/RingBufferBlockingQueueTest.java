@@ -0,0 +1,120 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2013, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class RingBufferBlockingQueueTest {
+
+  RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<Integer>(3, WaitStrategy.YIELD);
+
+  @Test
+  public void offerAndPollPreserveOrder() {
+    assertTrue(queue.offer(1));
+    assertTrue(queue.offer(2));
+    assertEquals(2, queue.size());
+    assertEquals(1, queue.remainingCapacity());
+    assertEquals(Integer.valueOf(1), queue.peek());
+    assertEquals(Integer.valueOf(1), queue.poll());
+    assertEquals(Integer.valueOf(2), queue.poll());
+    assertNull(queue.poll());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void offerFailsWhenFull() {
+    for (int i = 0; i < 3; i++) {
+      assertTrue(queue.offer(i));
+    }
+    assertFalse(queue.offer(3));
+    assertEquals(0, queue.remainingCapacity());
+    queue.poll();
+    assertTrue(queue.offer(3));
+  }
+
+  @Test
+  public void wrapAround() {
+    for (int i = 0; i < 10; i++) {
+      assertTrue(queue.offer(i));
+      assertEquals(Integer.valueOf(i), queue.poll());
+    }
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void timedOperationsExpire() throws InterruptedException {
+    assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    for (int i = 0; i < 3; i++) {
+      queue.put(i);
+    }
+    assertFalse(queue.offer(3, 10, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void drainTo() {
+    for (int i = 0; i < 3; i++) {
+      queue.offer(i);
+    }
+    List<Integer> list = new ArrayList<Integer>();
+    assertEquals(2, queue.drainTo(list, 2));
+    assertEquals(1, queue.drainTo(list));
+    assertEquals(3, list.size());
+    assertEquals(Integer.valueOf(2), list.get(2));
+  }
+
+  @Test(expected = InterruptedException.class)
+  public void takeIsInterruptible() throws InterruptedException {
+    Thread.currentThread().interrupt();
+    queue.take();
+  }
+
+  @Test(timeout = 10000)
+  public void multipleProducersLoseNoElements() throws InterruptedException {
+    final int producerCount = 4;
+    final int loopLen = 10000;
+    Thread[] producers = new Thread[producerCount];
+    for (int p = 0; p < producerCount; p++) {
+      producers[p] = new Thread() {
+        public void run() {
+          try {
+            for (int i = 0; i < loopLen; i++) {
+              queue.put(i);
+            }
+          } catch (InterruptedException e) {
+          }
+        }
+      };
+      producers[p].start();
+    }
+
+    long sum = 0;
+    for (int i = 0; i < producerCount * loopLen; i++) {
+      sum += queue.take();
+    }
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    assertEquals(producerCount * ((long) loopLen * (loopLen - 1) / 2), sum);
+    assertNull(queue.poll());
+  }
+}